@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+#
+# 运行 JMH 基准测试并以 JSON 保存结果，便于不同版本之间对比回归
+#
+# 用法：./junoyi-benchmark/run-benchmarks.sh [default|gc|alloc] [基准名正则]
+#   default  只测量耗时
+#   gc       附加 GC 剖析（每次操作分配字节数、GC 次数和耗时）
+#   alloc    附加 GC 剖析和 JFR 分配采样（target/jfr）
+#
+# 结果保存到 junoyi-benchmark/results/<版本>-<时间戳>.json
+#
+# @author Fan
+
+set -euo pipefail
+
+MODULE_DIR="$(cd "$(dirname "$0")" && pwd)"
+ROOT_DIR="$(dirname "$MODULE_DIR")"
+
+PROFILE="${1:-default}"
+INCLUDE="${2:-.*}"
+
+case "$PROFILE" in
+  default) PROFILE_ARGS="" ;;
+  gc|alloc) PROFILE_ARGS="-P$PROFILE" ;;
+  *) echo "未知的 profile：$PROFILE（可选 default|gc|alloc）" >&2; exit 1 ;;
+esac
+
+cd "$ROOT_DIR"
+VERSION="$(sed -n 's:.*<revision>\(.*\)</revision>.*:\1:p' pom.xml | head -n 1)"
+RESULT_DIR="$MODULE_DIR/results"
+RESULT_FILE="$RESULT_DIR/${VERSION}-$(date +%Y%m%d-%H%M%S).json"
+mkdir -p "$RESULT_DIR"
+
+mvn -B -q -pl junoyi-benchmark -am package -DskipTests
+mvn -B -q -pl junoyi-benchmark exec:exec $PROFILE_ARGS \
+  -Djmh.include="$INCLUDE" \
+  -Djmh.result="$RESULT_FILE"
+
+echo "基准测试结果已保存：$RESULT_FILE"
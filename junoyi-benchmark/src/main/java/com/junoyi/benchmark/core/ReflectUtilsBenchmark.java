@@ -0,0 +1,93 @@
+package com.junoyi.benchmark.core;
+
+import com.junoyi.framework.core.utils.reflect.ReflectUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReflectUtils.invokeGetter 基准测试
+ * 分别测量单级属性和多级属性（对象名.属性名）的 Getter / Setter 调用开销
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReflectUtilsBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        Dept dept = new Dept();
+        dept.setDeptName("研发部");
+        user = new User();
+        user.setUserName("admin");
+        user.setDept(dept);
+    }
+
+    @Benchmark
+    public Object invokeGetter() {
+        return ReflectUtils.invokeGetter(user, "userName");
+    }
+
+    @Benchmark
+    public Object invokeNestedGetter() {
+        return ReflectUtils.invokeGetter(user, "dept.deptName");
+    }
+
+    @Benchmark
+    public User invokeNestedSetter() {
+        ReflectUtils.invokeSetter(user, "dept.deptName", "研发部");
+        return user;
+    }
+
+    public static class User {
+
+        private String userName;
+
+        private Dept dept;
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        public Dept getDept() {
+            return dept;
+        }
+
+        public void setDept(Dept dept) {
+            this.dept = dept;
+        }
+    }
+
+    public static class Dept {
+
+        private String deptName;
+
+        public String getDeptName() {
+            return deptName;
+        }
+
+        public void setDeptName(String deptName) {
+            this.deptName = deptName;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.junoyi.benchmark.event;
+
+import com.junoyi.framework.event.annotation.EventHandler;
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.core.EventBus;
+import com.junoyi.framework.event.core.Listener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EventBus.callEvent 基准测试
+ * 分别测量同步处理器（在调用方线程执行）和异步处理器（提交到异步执行器）的单次触发开销
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBusBenchmark {
+
+    private EventBus eventBus;
+
+    private SyncEvent syncEvent;
+
+    private AsyncEvent asyncEvent;
+
+    @Setup
+    public void setup() {
+        eventBus = EventBus.get();
+        eventBus.registerListener(new BenchmarkListener());
+        syncEvent = new SyncEvent();
+        asyncEvent = new AsyncEvent();
+    }
+
+    @Benchmark
+    public void callEventSync() {
+        eventBus.callEvent(syncEvent);
+    }
+
+    @Benchmark
+    public void callEventAsync() {
+        eventBus.callEvent(asyncEvent);
+    }
+
+    @Benchmark
+    public void callEventNoHandler(Blackhole blackhole) {
+        UnhandledEvent event = new UnhandledEvent();
+        eventBus.callEvent(event);
+        blackhole.consume(event);
+    }
+
+    public static class SyncEvent implements Event {
+        private long handled;
+    }
+
+    public static class AsyncEvent implements Event {
+    }
+
+    public static class UnhandledEvent implements Event {
+    }
+
+    public static class BenchmarkListener implements Listener {
+
+        private volatile long asyncHandled;
+
+        @EventHandler
+        public void onSync(SyncEvent event) {
+            event.handled++;
+        }
+
+        @EventHandler(async = true)
+        public void onAsync(AsyncEvent event) {
+            asyncHandled++;
+        }
+    }
+}
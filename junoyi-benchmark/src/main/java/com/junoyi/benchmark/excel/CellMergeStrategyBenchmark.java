@@ -0,0 +1,123 @@
+package com.junoyi.benchmark.excel;
+
+import com.alibaba.excel.annotation.ExcelProperty;
+import com.junoyi.framework.excel.annotation.CellMerge;
+import com.junoyi.framework.excel.core.CellMergeStrategy;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CellMergeStrategy 基准测试
+ * 测量 10 万行数据下一次单元格写入触发的合并区域计算（不含向工作表添加合并区域）
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CellMergeStrategyBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    private HSSFWorkbook workbook;
+
+    private Sheet sheet;
+
+    private Cell cell;
+
+    private MergeStrategy strategy;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<OrderRow> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            // 每 20 行同一客户，每 5 行同一订单，模拟需要合并的相邻相同值
+            list.add(new OrderRow("客户" + (i / 20), "订单" + (i / 5), "商品" + i));
+        }
+        strategy = new MergeStrategy(list);
+        workbook = new HSSFWorkbook();
+        sheet = workbook.createSheet();
+        // 非首个数据单元格，只计算合并区域，不触发 addMergedRegion
+        cell = sheet.createRow(2).createCell(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        workbook.close();
+    }
+
+    @Benchmark
+    public MergeStrategy mergeOnCellWrite() {
+        strategy.mergeCell(sheet, cell);
+        return strategy;
+    }
+
+    /**
+     * 暴露受保护的 merge 方法
+     */
+    public static class MergeStrategy extends CellMergeStrategy {
+
+        public MergeStrategy(List<?> list) {
+            super(list, false);
+        }
+
+        public void mergeCell(Sheet sheet, Cell cell) {
+            merge(sheet, cell, null, cell.getRowIndex());
+        }
+    }
+
+    public static class OrderRow {
+
+        @CellMerge
+        @ExcelProperty("客户")
+        private String customer;
+
+        @CellMerge
+        @ExcelProperty("订单号")
+        private String orderNo;
+
+        @ExcelProperty("商品")
+        private String product;
+
+        public OrderRow(String customer, String orderNo, String product) {
+            this.customer = customer;
+            this.orderNo = orderNo;
+            this.product = product;
+        }
+
+        public String getCustomer() {
+            return customer;
+        }
+
+        public String getOrderNo() {
+            return orderNo;
+        }
+
+        public String getProduct() {
+            return product;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.junoyi.benchmark.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.junoyi.framework.json.handler.BigNumberSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigNumberSerializer 基准测试
+ * 对比 JS 安全整数范围内、范围外的 Long 列表序列化，并以 Jackson 默认数字序列化作为基线
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BigNumberSerializerBenchmark {
+
+    private static final int SIZE = 100;
+
+    private ObjectMapper bigNumberMapper;
+
+    private ObjectMapper defaultMapper;
+
+    private List<Long> safeValues;
+
+    private List<Long> unsafeValues;
+
+    @Setup
+    public void setup() {
+        SimpleModule module = new SimpleModule();
+        module.addSerializer(Long.class, BigNumberSerializer.INSTANCE);
+        module.addSerializer(Long.TYPE, BigNumberSerializer.INSTANCE);
+        bigNumberMapper = new ObjectMapper().registerModule(module);
+        defaultMapper = new ObjectMapper();
+
+        safeValues = new ArrayList<>(SIZE);
+        unsafeValues = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            safeValues.add(1_000_000L + i);
+            // 雪花ID量级，超出 JS 安全整数范围
+            unsafeValues.add(1877734562310078465L + i);
+        }
+    }
+
+    @Benchmark
+    public String serializeSafe() throws JsonProcessingException {
+        return bigNumberMapper.writeValueAsString(safeValues);
+    }
+
+    @Benchmark
+    public String serializeUnsafe() throws JsonProcessingException {
+        return bigNumberMapper.writeValueAsString(unsafeValues);
+    }
+
+    @Benchmark
+    public String serializeBaseline() throws JsonProcessingException {
+        return defaultMapper.writeValueAsString(unsafeValues);
+    }
+}
@@ -0,0 +1,156 @@
+package com.junoyi.benchmark.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junoyi.framework.core.utils.SpringUtils;
+import com.junoyi.framework.json.config.JacksonConfig;
+import com.junoyi.framework.json.utils.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonUtils 序列化/反序列化往返基准测试
+ * 使用与应用相同的 Jackson 配置（JacksonConfig），JsonUtils 通过 SpringUtils 取得 ObjectMapper
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonUtilsBenchmark {
+
+    private AnnotationConfigApplicationContext context;
+
+    private UserDto user;
+
+    private String userJson;
+
+    private String listJson;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().customizer().customize(builder);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(SpringUtils.class);
+        context.registerBean(ObjectMapper.class, builder::build);
+        context.refresh();
+
+        user = new UserDto();
+        user.setUserId(1877734562310078465L);
+        user.setUserName("admin");
+        user.setNickName("管理员");
+        user.setBalance(new BigDecimal("1024.50"));
+        user.setCreateTime(LocalDateTime.of(2025, 12, 5, 8, 25, 15));
+        user.setRoles(List.of("super_admin", "admin"));
+        userJson = JsonUtils.toJsonString(user);
+        listJson = JsonUtils.toJsonString(List.of(user, user, user, user, user, user, user, user, user, user));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String toJsonString() {
+        return JsonUtils.toJsonString(user);
+    }
+
+    @Benchmark
+    public UserDto parseObject() {
+        return JsonUtils.parseObject(userJson, UserDto.class);
+    }
+
+    @Benchmark
+    public UserDto roundTrip() {
+        return JsonUtils.parseObject(JsonUtils.toJsonString(user), UserDto.class);
+    }
+
+    @Benchmark
+    public List<UserDto> parseArray() {
+        return JsonUtils.parseArray(listJson, UserDto.class);
+    }
+
+    public static class UserDto {
+
+        private Long userId;
+
+        private String userName;
+
+        private String nickName;
+
+        private BigDecimal balance;
+
+        private LocalDateTime createTime;
+
+        private List<String> roles;
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(Long userId) {
+            this.userId = userId;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+
+        public String getNickName() {
+            return nickName;
+        }
+
+        public void setNickName(String nickName) {
+            this.nickName = nickName;
+        }
+
+        public BigDecimal getBalance() {
+            return balance;
+        }
+
+        public void setBalance(BigDecimal balance) {
+            this.balance = balance;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public void setCreateTime(LocalDateTime createTime) {
+            this.createTime = createTime;
+        }
+
+        public List<String> getRoles() {
+            return roles;
+        }
+
+        public void setRoles(List<String> roles) {
+            this.roles = roles;
+        }
+    }
+}
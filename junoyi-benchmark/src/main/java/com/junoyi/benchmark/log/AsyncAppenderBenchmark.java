@@ -0,0 +1,106 @@
+package com.junoyi.benchmark.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.junoyi.framework.log.appender.JunoYiAsyncAppender;
+import com.junoyi.framework.log.encoder.JunoYiLogbackEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步日志输出器与同步输出的吞吐量对比
+ * 4 个业务线程通过 Logger 写文件：sync 为直接挂载文件输出器，
+ * BLOCK / DISCARD / ASYNC 为经 JunoYiAsyncAppender（队列 256）转交，数值为业务线程每秒完成的日志调用数
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AsyncAppenderBenchmark {
+
+    @Param({"sync", "BLOCK", "DISCARD", "ASYNC"})
+    private String mode;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private Path file;
+
+    private JunoYiAsyncAppender asyncAppender;
+
+    @Setup
+    public void setup() throws IOException {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        file = Files.createTempFile("junoyi-benchmark", ".log");
+
+        JunoYiLogbackEncoder encoder = new JunoYiLogbackEncoder();
+        encoder.setContext(context);
+        encoder.setColorEnabled(false);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(file.toString());
+        fileAppender.setAppend(false);
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (!"sync".equals(mode)) {
+            asyncAppender = new JunoYiAsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC");
+            asyncAppender.setDiscardPolicy(mode);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        logger = context.getLogger("com.junoyi.system.service.impl.SysUserServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (asyncAppender != null)
+            System.out.println("\n[" + mode + "] discarded " + asyncAppender.getDiscardedCount() + " events");
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void logInfo() {
+        logger.info("User {} logged in from {}", "admin", "127.0.0.1");
+    }
+}
@@ -0,0 +1,103 @@
+package com.junoyi.benchmark.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.FileSize;
+import com.junoyi.framework.log.appender.JunoYiMappedFileAppender;
+import com.junoyi.framework.log.encoder.JunoYiJsonLogEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 文件输出器吞吐量对比
+ * 单个写线程经 JSON 行编码器写文件：stream 为逐条刷新输出流的 FileAppender，
+ * mapped 为 JunoYiMappedFileAppender（64MB 段文件，按 1MB / 1 秒批量提交，写满后后台压缩；单核环境下压缩线程与写线程争用 CPU）
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FileAppenderBenchmark {
+
+    @Param({"stream", "mapped"})
+    private String appenderType;
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    private Path directory;
+
+    @Setup
+    public void setup() throws IOException {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        directory = Files.createTempDirectory("junoyi-benchmark");
+
+        JunoYiJsonLogEncoder encoder = new JunoYiJsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        Appender<ILoggingEvent> appender;
+        if ("mapped".equals(appenderType)) {
+            JunoYiMappedFileAppender mapped = new JunoYiMappedFileAppender();
+            mapped.setFile(directory.resolve("junoyi.json").toString());
+            mapped.setEncoder(encoder);
+            mapped.setMaxFileSize(new FileSize(64 * FileSize.MB_COEFFICIENT));
+            mapped.setMaxHistory(2);
+            appender = mapped;
+        } else {
+            FileAppender<ILoggingEvent> stream = new FileAppender<>();
+            stream.setFile(directory.resolve("junoyi.json").toString());
+            stream.setEncoder(encoder);
+            appender = stream;
+        }
+        appender.setContext(context);
+        appender.setName("FILE");
+        appender.start();
+
+        logger = context.getLogger("com.junoyi.system.service.impl.SysUserServiceImpl");
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void logInfo() {
+        logger.info("User {} logged in from {}", "admin", "127.0.0.1");
+    }
+}
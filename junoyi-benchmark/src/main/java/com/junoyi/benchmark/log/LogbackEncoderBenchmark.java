@@ -0,0 +1,118 @@
+package com.junoyi.benchmark.log;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.junoyi.framework.log.encoder.JunoYiJsonLogEncoder;
+import com.junoyi.framework.log.encoder.JunoYiLogbackEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JunoYiLogbackEncoder.encode 基准测试
+ * 覆盖普通日志、带 MDC 的日志和带异常堆栈的日志三种常见形态，
+ * encoder=baseline 为改为直接写字节之前的实现，用于对比耗时和每次编码的分配量（-prof gc），
+ * encoder=json 为文件日志可选的 JSON 行编码器
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogbackEncoderBenchmark {
+
+    @Param({"current", "baseline", "json"})
+    private String encoderType;
+
+    private EncoderBase<ILoggingEvent> encoder;
+
+    private LoggingEvent plainEvent;
+
+    private LoggingEvent mdcEvent;
+
+    private LoggingEvent errorEvent;
+
+    @Setup
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+        switch (encoderType) {
+            case "baseline":
+                encoder = new BaselineLogbackEncoder();
+                break;
+            case "json":
+                encoder = new JunoYiJsonLogEncoder();
+                break;
+            default:
+                encoder = new JunoYiLogbackEncoder();
+                break;
+        }
+        encoder.setContext(context);
+        encoder.start();
+
+        Logger logger = context.getLogger("com.junoyi.system.service.impl.SysUserServiceImpl");
+        plainEvent = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "User {} logged in from {}", null, new Object[]{"admin", "127.0.0.1"});
+        plainEvent.setThreadName("http-nio-7588-exec-1");
+        plainEvent.setMDCPropertyMap(Map.of());
+
+        mdcEvent = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Order {} created", null, new Object[]{1024L});
+        mdcEvent.setThreadName("http-nio-7588-exec-2");
+        mdcEvent.setMDCPropertyMap(Map.of("traceId", "6f1c2a9e4b7d", "userId", "1"));
+
+        errorEvent = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR,
+                "Failed to process request", new IllegalStateException("boom"), null);
+        errorEvent.setThreadName("http-nio-7588-exec-3");
+        errorEvent.setMDCPropertyMap(Map.of());
+
+        verifySameOutput(context);
+    }
+
+    /**
+     * 校验当前实现与基线实现输出一致，保证对比的是同一份输出
+     */
+    private void verifySameOutput(LoggerContext context) {
+        BaselineLogbackEncoder baseline = new BaselineLogbackEncoder();
+        JunoYiLogbackEncoder current = new JunoYiLogbackEncoder();
+        baseline.setContext(context);
+        current.setContext(context);
+        for (LoggingEvent event : new LoggingEvent[]{plainEvent, mdcEvent, errorEvent}) {
+            if (!Arrays.equals(baseline.encode(event), current.encode(event)))
+                throw new IllegalStateException("JunoYiLogbackEncoder output differs from baseline for: " + event.getMessage());
+        }
+    }
+
+    @Benchmark
+    public byte[] encodePlain() {
+        return encoder.encode(plainEvent);
+    }
+
+    @Benchmark
+    public byte[] encodeWithMdc() {
+        return encoder.encode(mdcEvent);
+    }
+
+    @Benchmark
+    public byte[] encodeWithThrowable() {
+        return encoder.encode(errorEvent);
+    }
+}
@@ -0,0 +1,61 @@
+package com.junoyi.benchmark.redis;
+
+import com.junoyi.framework.redis.handler.KeyPrefixHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KeyPrefixHandler.map 基准测试
+ * Redisson 每次访问键都会经过 NameMapper，分别测量需要加前缀、已带前缀和未配置前缀三种情况
+ *
+ * @author Fan
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyPrefixHandlerBenchmark {
+
+    private KeyPrefixHandler prefixed;
+
+    private KeyPrefixHandler unprefixed;
+
+    private String key;
+
+    private String prefixedKey;
+
+    @Setup
+    public void setup() {
+        prefixed = new KeyPrefixHandler("junoyi");
+        unprefixed = new KeyPrefixHandler("");
+        key = "login_tokens:6f1c2a9e-4b7d-4e1a-9c3f-2d8b5e7a1c90";
+        prefixedKey = "junoyi:" + key;
+    }
+
+    @Benchmark
+    public String mapAddPrefix() {
+        return prefixed.map(key);
+    }
+
+    @Benchmark
+    public String mapAlreadyPrefixed() {
+        return prefixed.map(prefixedKey);
+    }
+
+    @Benchmark
+    public String mapNoPrefix() {
+        return unprefixed.map(key);
+    }
+}
@@ -27,7 +27,7 @@ public class ReflectUtils extends ReflectUtil {
     @SuppressWarnings("unchecked")
     public static <E> E invokeGetter(Object obj, String propertyName) {
         Object object = obj;
-        for (String name : StringUtils.split(propertyName, ".")) {
+        for (String name : StringUtils.delimitedListToStringArray(propertyName, ".")) {
             String getterMethodName = GETTER_PREFIX + StringUtils.capitalize(name);
             object = invoke(object, getterMethodName);
         }
@@ -40,7 +40,7 @@ public class ReflectUtils extends ReflectUtil {
      */
     public static <E> void invokeSetter(Object obj, String propertyName, E value) {
         Object object = obj;
-        String[] names = StringUtils.split(propertyName, ".");
+        String[] names = StringUtils.delimitedListToStringArray(propertyName, ".");
         for (int i = 0; i < names.length; i++) {
             if (i < names.length - 1) {
                 String getterMethodName = GETTER_PREFIX + StringUtils.capitalize(names[i]);
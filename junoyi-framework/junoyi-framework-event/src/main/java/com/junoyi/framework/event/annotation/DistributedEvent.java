@@ -0,0 +1,23 @@
+package com.junoyi.framework.event.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 集群事件注解
+ * 标记在事件类上，开启 junoyi.event.cluster 后，该事件在本节点分发的同时会批量广播到集群中的其他节点，
+ * 由其他节点的本地监听器处理（发布节点不会再次收到自己广播的事件）。
+ * 适用于缓存失效、配置变更、会话踢出等需要到达每个节点的事件，事件类需能被集群编解码器序列化
+ *
+ * @author Fan
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DistributedEvent {
+}
@@ -1,5 +1,6 @@
 package com.junoyi.framework.event.annotation;
 
+import com.junoyi.framework.event.enums.EventPhase;
 import com.junoyi.framework.event.enums.EventPriority;
 
 import java.lang.annotation.ElementType;
@@ -26,4 +27,61 @@ public @interface EventHandler {
      * 是否异步执行（默认同步）
      */
     boolean async() default false;
+
+    /**
+     * 是否为批量处理器（默认否）
+     * 批量处理器的方法参数为 List&lt;事件类型&gt;，事件先累积，达到 batchSize 或等待超过 batchDelay 后整批交给处理器，
+     * 批量处理器始终在异步执行器中运行
+     */
+    boolean batch() default false;
+
+    /**
+     * 批量处理器每批的最大事件数量
+     */
+    int batchSize() default 100;
+
+    /**
+     * 批量处理器窗口内第一个事件的最大等待时间（如 200ms、1s）
+     */
+    String batchDelay() default "200ms";
+
+    /**
+     * 处理器最大并发执行数（隔离舱，默认0表示不限制）
+     * 超出上限的调用直接拒绝并记录指标和日志，避免单个慢处理器占满异步线程池
+     */
+    int maxConcurrency() default 0;
+
+    /**
+     * 处理器执行截止时间（如 500ms、3s，默认不限制）
+     * 异步处理器超时后会被中断；同步处理器运行在调用方线程上，不会被中断，只记录指标和日志
+     */
+    String timeout() default "";
+
+    /**
+     * 处理器执行条件（SpEL 表达式，默认无条件）
+     * 以事件对象为根对象求值，如 "type == 'ORDER'"、"amount > 100"，也可通过 @beanName 引用谓词 Bean；
+     * 表达式在注册时解析，事件分发时先判断条件，不满足的事件不会进入批量收集器或异步执行器
+     */
+    String condition() default "";
+
+    /**
+     * 处理器执行阶段（默认立即执行）
+     * 设置为事务阶段时，事务中触发的事件先按事务缓冲，到 BEFORE_COMMIT/AFTER_COMMIT/AFTER_ROLLBACK 等阶段后整批分发，
+     * 事务回滚时 AFTER_COMMIT 处理器不会执行；当前线程没有活动事务时立即执行
+     */
+    EventPhase phase() default EventPhase.IMMEDIATE;
+
+    /**
+     * 防抖时长（如 500ms、1s，默认不防抖）
+     * 事件停止到达该时长后，只用最后一个事件执行一次处理器，适合重建菜单树、刷新字典缓存等一轮突发事件只需执行一次的处理器；
+     * 合并后的执行始终提交到异步执行器，不能与 batch、throttle 同时使用
+     */
+    String debounce() default "";
+
+    /**
+     * 节流窗口（如 500ms、1s，默认不节流）
+     * 窗口内第一个事件立即执行，后续事件只保留最后一个，在窗口结束时再执行一次；
+     * 执行始终提交到异步执行器，不能与 batch、debounce 同时使用
+     */
+    String throttle() default "";
 }
@@ -0,0 +1,23 @@
+package com.junoyi.framework.event.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 发件箱事件注解
+ * 标记在事件类上，开启 junoyi.event.outbox 后，该事件触发时不直接分发，而是先批量写入 LOG 数据源上的发件箱表，
+ * 再由后台中继按块取出交给本地监听器处理，处理完成后才从发件箱删除（至少一次，处理器需保证幂等）。
+ * 适用于审计、计费等不能丢失的事件，事件类需能被 JSON 序列化
+ *
+ * @author Fan
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface OutboxEvent {
+}
@@ -0,0 +1,194 @@
+package com.junoyi.framework.event.cluster;
+
+import com.junoyi.framework.event.annotation.DistributedEvent;
+import com.junoyi.framework.event.core.BatchCollector;
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.core.RegisteredHandler;
+import com.junoyi.framework.event.properties.EventBusProperties;
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * 集群事件桥
+ * 本节点触发的 @DistributedEvent 事件先在发件箱中累积，达到批量大小或等待超过刷新间隔后整批编码一次，
+ * 加上本节点ID作为帧头发布到集群主题；收到其他节点的数据帧后解码并交给本地监听器，
+ * 帧头为本节点ID的数据帧直接丢弃（本节点在发布时已在本地分发过）
+ *
+ * @author Fan
+ */
+public class DistributedEventBridge {
+
+    private final JunoYiLog log = JunoYiLogFactory.getLogger(DistributedEventBridge.class);
+
+    private static final ClassValue<Boolean> DISTRIBUTED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(DistributedEvent.class);
+        }
+    };
+
+    /**
+     * 本节点ID，每次启动随机生成
+     */
+    private final long nodeId = UUID.randomUUID().getMostSignificantBits();
+
+    private final EventTransport transport;
+
+    private final EventCodec codec;
+
+    private final String topic;
+
+    private final ScheduledExecutorService timer;
+
+    private final Consumer<Event> localDelivery;
+
+    /**
+     * 发件箱，复用批量处理器的收集器完成按数量/时间的攒批
+     */
+    private final BatchCollector outbox;
+
+    /**
+     * 发送线程，编码和网络发布不占用事件触发方线程和事件总线定时器
+     */
+    private final ExecutorService sender = daemonThread("EventBus-Cluster-Sender");
+
+    /**
+     * 接收线程，远程事件按收到的顺序在此交给本地监听器，不占用 Redisson 的事件循环线程
+     */
+    private final ExecutorService receiver = daemonThread("EventBus-Cluster-Receiver");
+
+    private final BiConsumer<RegisteredHandler, List<Event>> flusher = (ignored, batch) -> sender.execute(() -> send(batch));
+
+    private final LongAdder published = new LongAdder();
+
+    private final LongAdder received = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param transport 传输通道
+     * @param codec 事件编解码器
+     * @param config 集群配置
+     * @param timer 发件箱延迟刷新所用的调度器
+     * @param localDelivery 将远程事件交给本地监听器的回调（不会再次广播）
+     */
+    public DistributedEventBridge(EventTransport transport, EventCodec codec, EventBusProperties.Cluster config,
+                                  ScheduledExecutorService timer, Consumer<Event> localDelivery) {
+        this.transport = transport;
+        this.codec = codec;
+        this.topic = config.getTopic();
+        this.timer = timer;
+        this.localDelivery = localDelivery;
+        this.outbox = new BatchCollector(config.getBatchSize(), config.getFlushInterval());
+    }
+
+    /**
+     * 判断事件类型是否需要广播到集群
+     *
+     * @param eventType 事件类型
+     * @return 标记了 @DistributedEvent 时返回 true
+     */
+    public static boolean isDistributed(Class<?> eventType) {
+        return DISTRIBUTED.get(eventType);
+    }
+
+    /**
+     * 订阅集群主题
+     */
+    public void start() {
+        transport.subscribe(topic, this::receive);
+        log.info("DistributedEventBridge", "Subscribed to cluster topic " + topic + " | NodeId=" + Long.toHexString(nodeId));
+    }
+
+    /**
+     * 将本节点触发的事件加入发件箱
+     *
+     * @param event 事件对象
+     */
+    public void forward(Event event) {
+        outbox.add(event, null, flusher, timer);
+    }
+
+    /**
+     * 获取已广播的事件数
+     *
+     * @return 事件数
+     */
+    public long getPublished() {
+        return published.sum();
+    }
+
+    /**
+     * 获取从其他节点收到的事件数
+     *
+     * @return 事件数
+     */
+    public long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * 发送发件箱中剩余的事件并停止订阅
+     */
+    public void shutdown() {
+        outbox.flush(null, flusher);
+        sender.shutdown();
+        try {
+            sender.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transport.close();
+        receiver.shutdown();
+    }
+
+    private static ExecutorService daemonThread(String name) {
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void send(List<Event> batch) {
+        try {
+            byte[] body = codec.encode(batch);
+            byte[] frame = ByteBuffer.allocate(Long.BYTES + body.length).putLong(nodeId).put(body).array();
+            transport.publish(topic, frame);
+            published.add(batch.size());
+        } catch (RuntimeException e) {
+            log.error("DistributedEventPublishError", "Failed to publish " + batch.size() + " events to " + topic, e);
+        }
+    }
+
+    private void receive(byte[] frame) {
+        if (frame.length < Long.BYTES || ByteBuffer.wrap(frame).getLong() == nodeId)
+            return;
+        receiver.execute(() -> deliver(frame));
+    }
+
+    private void deliver(byte[] frame) {
+        List<Event> events;
+        try {
+            events = codec.decode(Arrays.copyOfRange(frame, Long.BYTES, frame.length));
+        } catch (RuntimeException e) {
+            log.error("DistributedEventDecodeError", "Failed to decode events from " + topic, e);
+            return;
+        }
+        received.add(events.size());
+        for (Event event : events)
+            localDelivery.accept(event);
+    }
+}
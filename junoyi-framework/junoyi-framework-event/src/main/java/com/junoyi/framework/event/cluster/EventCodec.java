@@ -0,0 +1,31 @@
+package com.junoyi.framework.event.cluster;
+
+import com.junoyi.framework.event.core.Event;
+
+import java.util.List;
+
+/**
+ * 集群事件编解码器
+ * 一批事件只编码一次，可通过注册该类型的 Bean 替换默认的 JSON 编解码器
+ *
+ * @author Fan
+ */
+public interface EventCodec {
+
+    /**
+     * 编码一批事件
+     *
+     * @param events 事件列表
+     * @return 编码后的字节数组
+     */
+    byte[] encode(List<Event> events);
+
+    /**
+     * 解码一批事件
+     * 实现必须只还原标记了 @DistributedEvent 的事件类型，拒绝其他类型
+     *
+     * @param data 编码后的字节数组
+     * @return 事件列表
+     */
+    List<Event> decode(byte[] data);
+}
@@ -0,0 +1,34 @@
+package com.junoyi.framework.event.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * 集群事件传输通道
+ * 负责在节点之间投递已编码的事件帧
+ *
+ * @author Fan
+ */
+public interface EventTransport {
+
+    /**
+     * 发布一帧数据到指定主题
+     *
+     * @param topic 主题名称
+     * @param frame 已编码的数据帧
+     */
+    void publish(String topic, byte[] frame);
+
+    /**
+     * 订阅指定主题
+     *
+     * @param topic 主题名称
+     * @param consumer 收到数据帧时的回调
+     */
+    void subscribe(String topic, Consumer<byte[]> consumer);
+
+    /**
+     * 取消订阅，释放资源
+     */
+    default void close() {
+    }
+}
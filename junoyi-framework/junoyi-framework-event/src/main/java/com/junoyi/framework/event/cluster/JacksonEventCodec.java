@@ -0,0 +1,119 @@
+package com.junoyi.framework.event.cluster;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.junoyi.framework.event.annotation.DistributedEvent;
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.domain.BaseEvent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于 Jackson 的集群事件编解码器
+ * 一批事件编码为 [["事件类名", {事件字段}], ...]，不开启 Jackson 全局类型信息：
+ * 解码时只实例化实现了 Event 且标记了指定注解（默认 @DistributedEvent）的类型。
+ * BaseEvent 传输事件名称、事件ID和记录的时间戳（id、timestampMillis），解码后保持原值，接收方据此还原事件时间；
+ * 事件来源等本地信息和由ID派生的 eventId、timestamp 不参与序列化
+ *
+ * @author Fan
+ */
+public class JacksonEventCodec implements EventCodec {
+
+    private final ObjectMapper mapper;
+
+    /**
+     * 允许解码的事件类型必须标记的注解
+     */
+    private final Class<? extends Annotation> marker;
+
+    /**
+     * 构造函数，只解码 @DistributedEvent 事件
+     *
+     * @param objectMapper 基础 ObjectMapper（会复制一份后调整配置，不影响原实例）
+     */
+    public JacksonEventCodec(ObjectMapper objectMapper) {
+        this(objectMapper, DistributedEvent.class);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param objectMapper 基础 ObjectMapper（会复制一份后调整配置，不影响原实例）
+     * @param marker 允许解码的事件类型必须标记的注解
+     */
+    public JacksonEventCodec(ObjectMapper objectMapper, Class<? extends Annotation> marker) {
+        this.marker = marker;
+        this.mapper = objectMapper.copy()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .addMixIn(Event.class, EventMixin.class)
+                .addMixIn(BaseEvent.class, BaseEventMixin.class);
+    }
+
+    @Override
+    public byte[] encode(List<Event> events) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128 * events.size());
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (Event event : events) {
+                generator.writeStartArray();
+                generator.writeString(event.getClass().getName());
+                mapper.writeValue(generator, event);
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode events", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public List<Event> decode(byte[] data) {
+        try {
+            JsonNode root = mapper.readTree(data);
+            List<Event> events = new ArrayList<>(root.size());
+            for (JsonNode entry : root) {
+                Class<?> type = Class.forName(entry.get(0).asText(), false, JacksonEventCodec.class.getClassLoader());
+                if (!Event.class.isAssignableFrom(type) || !type.isAnnotationPresent(marker))
+                    throw new IllegalArgumentException("Not a @" + marker.getSimpleName() + " type: " + type.getName());
+                events.add((Event) mapper.treeToValue(entry.get(1), type));
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode events", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown event type: " + e.getMessage(), e);
+        }
+    }
+
+    @JsonIgnoreProperties({"partitionKey"})
+    private abstract static class EventMixin {
+    }
+
+    @JsonIgnoreProperties({"partitionKey", "source", "eventId", "timestamp"})
+    private abstract static class BaseEventMixin {
+
+        /**
+         * 解码时覆盖构造时新生成的ID
+         */
+        @JsonProperty("id")
+        private long id;
+
+        /**
+         * 未单独记录时为 -1，接收方从ID中还原
+         */
+        @JsonProperty("timestampMillis")
+        private long timestampMillis;
+    }
+}
@@ -0,0 +1,38 @@
+package com.junoyi.framework.event.cluster;
+
+import com.junoyi.framework.redis.utils.RedisUtils;
+import org.redisson.api.RTopic;
+import org.redisson.client.codec.ByteArrayCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 基于 Redisson RTopic 的集群事件传输通道
+ * 数据帧已由事件编解码器序列化，这里使用 ByteArrayCodec 原样收发，避免再经过一次 JSON 编码
+ *
+ * @author Fan
+ */
+public class RedisEventTransport implements EventTransport {
+
+    private final List<RTopic> subscribed = new ArrayList<>();
+
+    @Override
+    public void publish(String topic, byte[] frame) {
+        RedisUtils.getClient().getTopic(topic, ByteArrayCodec.INSTANCE).publish(frame);
+    }
+
+    @Override
+    public synchronized void subscribe(String topic, Consumer<byte[]> consumer) {
+        RTopic rTopic = RedisUtils.getClient().getTopic(topic, ByteArrayCodec.INSTANCE);
+        rTopic.addListener(byte[].class, (channel, frame) -> consumer.accept(frame));
+        subscribed.add(rTopic);
+    }
+
+    @Override
+    public synchronized void close() {
+        subscribed.forEach(RTopic::removeAllListeners);
+        subscribed.clear();
+    }
+}
@@ -1,12 +1,41 @@
 package com.junoyi.framework.event.config;
 
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junoyi.framework.event.annotation.OutboxEvent;
+import com.junoyi.framework.event.cluster.DistributedEventBridge;
+import com.junoyi.framework.event.cluster.EventCodec;
+import com.junoyi.framework.event.cluster.EventTransport;
+import com.junoyi.framework.event.cluster.JacksonEventCodec;
+import com.junoyi.framework.event.cluster.RedisEventTransport;
 import com.junoyi.framework.event.core.EventBus;
+import com.junoyi.framework.event.core.EventIdGenerator;
+import com.junoyi.framework.event.core.EventIds;
+import com.junoyi.framework.event.core.EventListenerIndex;
 import com.junoyi.framework.event.core.EventListenerScanner;
+import com.junoyi.framework.event.core.EventSpillStore;
+import com.junoyi.framework.event.core.RedisEventSpillStore;
+import com.junoyi.framework.event.metrics.EventBusMeterBinder;
+import com.junoyi.framework.event.outbox.EventOutbox;
+import com.junoyi.framework.event.outbox.EventOutboxStore;
+import com.junoyi.framework.event.outbox.JdbcEventOutboxStore;
+import com.junoyi.framework.event.properties.EventBusProperties;
 import com.junoyi.framework.log.core.JunoYiLog;
 import com.junoyi.framework.log.core.JunoYiLogFactory;
 import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
 
 /**
  * 事件总线自动配置类
@@ -15,33 +44,161 @@ import org.springframework.context.annotation.Bean;
  * @author Fan
  */
 @AutoConfiguration
+@EnableConfigurationProperties(EventBusProperties.class)
 public class EventBusAutoConfiguration {
     private final JunoYiLog log = JunoYiLogFactory.getLogger(EventBusAutoConfiguration.class);
 
     private final EventBus eventBus = EventBus.get();
 
     /**
-     * 将EventBus注册为Spring Bean
+     * 将EventBus注册为Spring Bean，并应用 junoyi.event 配置
      *
+     * @param properties 事件总线配置属性
+     * @param spillStore SPILL 背压策略使用的溢出存储（可选）
+     * @param idGenerator 自定义的事件ID生成器（可选，优先于 junoyi.event.id 配置）
+     * @param beanFactory Bean 工厂，供处理器执行条件引用 Bean
      * @return EventBus单例实例
      */
     @Bean
-    public EventBus eventBus() {
+    public EventBus eventBus(EventBusProperties properties, ObjectProvider<EventSpillStore> spillStore,
+                             ObjectProvider<EventIdGenerator> idGenerator, BeanFactory beanFactory) {
+        eventBus.configure(properties, spillStore.getIfAvailable());
+        eventBus.setBeanResolver(new BeanFactoryResolver(beanFactory));
+        idGenerator.ifAvailable(EventIds::setGenerator);
         log.info("The event bus has been registered as a Bean.");
         return eventBus;
     }
 
     /**
      * 创建并配置事件监听器扫描器Bean
+     * 类路径中存在编译期生成的监听器索引时，扫描器直接按索引注册监听器
      *
      * @param eventBus 事件总线实例，用于注册和管理事件监听器
+     * @param properties 事件总线配置属性
+     * @param resourceLoader 资源加载器，用于读取监听器索引
      * @return 配置好的事件监听器扫描器实例
      */
     @Bean
-    public EventListenerScanner eventListenerScanner(EventBus eventBus) {
-        return new EventListenerScanner(eventBus);
+    public EventListenerScanner eventListenerScanner(EventBus eventBus, EventBusProperties properties, ResourceLoader resourceLoader) {
+        EventListenerIndex index = properties.isListenerIndex() ? EventListenerIndex.load(resourceLoader.getClassLoader()) : null;
+        if (index != null)
+            log.info("EventListenerIndex", "Using compile-time event listener index, listeners=" + index.size());
+        return new EventListenerScanner(eventBus, index);
+    }
+
+    /**
+     * 引入 Redis 模块时，提供基于 Redis 队列的事件溢出存储
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "com.junoyi.framework.redis.utils.QueueUtils")
+    static class RedisSpillConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EventSpillStore.class)
+        public EventSpillStore eventSpillStore(EventBusProperties properties) {
+            return new RedisEventSpillStore(properties.getBackpressure().getSpillQueue());
+        }
     }
 
+    /**
+     * 引入 Micrometer 时，导出事件总线指标
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class MetricsConfiguration {
+
+        /**
+         * 处理器注册或注销时由事件总线回调同步处理器指标
+         */
+        @Bean
+        public EventBusMeterBinder eventBusMeterBinder(EventBus eventBus) {
+            return new EventBusMeterBinder(eventBus);
+        }
+    }
+
+    /**
+     * 集群事件广播配置（junoyi.event.cluster.enabled=true 时生效）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "junoyi.event.cluster", name = "enabled", havingValue = "true")
+    static class ClusterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(EventTransport.class)
+        @ConditionalOnClass(name = "com.junoyi.framework.redis.utils.RedisUtils")
+        public EventTransport eventTransport() {
+            return new RedisEventTransport();
+        }
+
+        @Bean
+        @ConditionalOnMissingBean(EventCodec.class)
+        @ConditionalOnClass(name = "com.fasterxml.jackson.databind.ObjectMapper")
+        public EventCodec eventCodec(ObjectProvider<ObjectMapper> objectMapper) {
+            return new JacksonEventCodec(objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        /**
+         * 为事件总线开启集群广播
+         *
+         * @param eventBus 事件总线
+         * @param transport 传输通道
+         * @param codec 事件编解码器
+         * @param properties 事件总线配置属性
+         * @return 集群事件桥
+         */
+        @Bean
+        public DistributedEventBridge distributedEventBridge(EventBus eventBus, EventTransport transport,
+                                                             EventCodec codec, EventBusProperties properties) {
+            eventBus.enableCluster(transport, codec, properties.getCluster());
+            return eventBus.getClusterBridge();
+        }
+    }
+
+    /**
+     * 持久化事件发件箱配置（junoyi.event.outbox.enabled=true 时生效）
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "junoyi.event.outbox", name = "enabled", havingValue = "true")
+    static class OutboxConfiguration {
+
+        /**
+         * 创建基于 JDBC 的发件箱存储
+         * 数据源为动态数据源时使用 junoyi.event.outbox.datasource 指定的数据源（默认日志库）
+         *
+         * @param dataSource 数据源
+         * @param objectMapper Jackson ObjectMapper（可选）
+         * @param properties 事件总线配置属性
+         * @return 发件箱存储
+         */
+        @Bean
+        @ConditionalOnMissingBean(EventOutboxStore.class)
+        @ConditionalOnClass(name = {"com.baomidou.dynamic.datasource.DynamicRoutingDataSource",
+                "com.fasterxml.jackson.databind.ObjectMapper"})
+        public EventOutboxStore eventOutboxStore(DataSource dataSource, ObjectProvider<ObjectMapper> objectMapper,
+                                                 EventBusProperties properties) {
+            EventBusProperties.Outbox config = properties.getOutbox();
+            DataSource target = dataSource instanceof DynamicRoutingDataSource routing
+                    ? routing.getDataSource(config.getDatasource())
+                    : dataSource;
+            return new JdbcEventOutboxStore(target, config.getTable(),
+                    new JacksonEventCodec(objectMapper.getIfAvailable(ObjectMapper::new), OutboxEvent.class),
+                    config.getWriteBatchSize(), config.getMaxAttempts(), config.getRetryDelay());
+        }
+
+        /**
+         * 为事件总线开启发件箱
+         *
+         * @param eventBus 事件总线
+         * @param store 发件箱存储
+         * @param properties 事件总线配置属性
+         * @return 事件发件箱
+         */
+        @Bean
+        public EventOutbox eventOutbox(EventBus eventBus, EventOutboxStore store, EventBusProperties properties) {
+            eventBus.enableOutbox(store, properties.getOutbox());
+            return eventBus.getOutbox();
+        }
+    }
 
     /**
      * 在Spring容器销毁时自动调用，释放EventBus的线程池资源
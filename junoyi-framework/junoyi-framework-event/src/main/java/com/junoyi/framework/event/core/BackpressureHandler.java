@@ -0,0 +1,187 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.domain.SpilledEvent;
+import com.junoyi.framework.event.enums.BackpressurePolicy;
+import com.junoyi.framework.event.metrics.BackpressureMetrics;
+import com.junoyi.framework.event.properties.EventBusProperties;
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异步队列背压处理器
+ * 作为平台线程池的拒绝策略，按事件类型匹配 junoyi.event.backpressure 中配置的策略处理被拒绝的事件任务。
+ * 不携带事件信息的内部任务（分区通道的消费者、异步处理器链等）无法匹配策略，也不能在提交方线程上执行
+ * （提交方可能是线程池自身的工作线程或时间轮线程），直接抛出 RejectedExecutionException 交给提交方处理；
+ * 分区通道据此把通道中等待的事件任务逐个交回本处理器，仍按事件类型的策略处理
+ *
+ * @author Fan
+ */
+public class BackpressureHandler implements RejectedExecutionHandler {
+
+    private final JunoYiLog log = JunoYiLogFactory.getLogger(BackpressureHandler.class);
+
+    /**
+     * 每丢弃多少个事件输出一次告警日志
+     */
+    private static final long DROP_LOG_INTERVAL = 1000;
+
+    private final EventBusProperties.Backpressure config;
+
+    private final BackpressureMetrics metrics;
+
+    private final EventSpillStore spillStore;
+
+    private final long blockTimeoutNanos;
+
+    /**
+     * 事件类型到背压策略的解析缓存
+     */
+    private final Map<Class<?>, BackpressurePolicy> policyCache = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param config 背压配置
+     * @param metrics 背压指标
+     * @param spillStore 溢出存储，未配置时为 null（SPILL 策略退化为 DROP_NEWEST）
+     */
+    public BackpressureHandler(EventBusProperties.Backpressure config, BackpressureMetrics metrics, EventSpillStore spillStore) {
+        this.config = config;
+        this.metrics = metrics;
+        this.spillStore = spillStore;
+        this.blockTimeoutNanos = config.getBlockTimeout().toNanos();
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        if (!(r instanceof EventTask task)) {
+            throw new RejectedExecutionException(executor.isShutdown()
+                    ? "Event bus async executor has been shut down"
+                    : "Event bus async queue is full, internal task rejected");
+        }
+        if (executor.isShutdown()) {
+            drop(task);
+            return;
+        }
+        BackpressurePolicy policy = policyFor(task.eventType());
+        if (!task.isCallerRunsAllowed())
+            policy = withoutCallerBlocking(policy);
+        switch (policy) {
+            case BLOCK -> block(task, executor);
+            case DROP_NEWEST -> drop(task);
+            case DROP_OLDEST -> dropOldest(task, executor);
+            case SAMPLE -> {
+                if (ThreadLocalRandom.current().nextDouble() < config.getSampleRate())
+                    runOnCaller(task);
+                else
+                    drop(task);
+            }
+            case SPILL -> spill(task);
+            default -> runOnCaller(task);
+        }
+    }
+
+    /**
+     * 解析事件类型对应的背压策略
+     * 依次匹配全限定类名、简单类名，均未配置时使用默认策略
+     *
+     * @param eventType 事件类型
+     * @return 背压策略
+     */
+    public BackpressurePolicy policyFor(Class<?> eventType) {
+        return policyCache.computeIfAbsent(eventType, type -> {
+            Map<String, BackpressurePolicy> events = config.getEvents();
+            BackpressurePolicy policy = events.get(type.getName());
+            if (policy == null)
+                policy = events.get(type.getSimpleName());
+            if (policy == null)
+                policy = config.getPolicy();
+            if (policy == BackpressurePolicy.SPILL && spillStore == null) {
+                log.warn("No event spill store available, SPILL falls back to DROP_NEWEST for {}", type.getName());
+                policy = BackpressurePolicy.DROP_NEWEST;
+            }
+            return policy;
+        });
+    }
+
+    /**
+     * 提交方线程不能执行或等待任务时（如时间轮线程），将会占用提交方线程的策略改为溢出，
+     * 未配置溢出存储时丢弃
+     */
+    private BackpressurePolicy withoutCallerBlocking(BackpressurePolicy policy) {
+        return switch (policy) {
+            case CALLER_RUNS, BLOCK, SAMPLE -> spillStore != null ? BackpressurePolicy.SPILL : BackpressurePolicy.DROP_NEWEST;
+            default -> policy;
+        };
+    }
+
+    private void runOnCaller(EventTask task) {
+        metrics.of(task.eventType()).recordCallerRuns(task.events().size());
+        task.run();
+    }
+
+    private void block(EventTask task, ThreadPoolExecutor executor) {
+        try {
+            if (executor.getQueue().offer(task, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                metrics.of(task.eventType()).recordBlocked(task.events().size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drop(task);
+    }
+
+    private void dropOldest(EventTask task, ThreadPoolExecutor executor) {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        // 只淘汰事件任务，内部任务必须执行
+        for (Runnable queued : queue) {
+            if (queued instanceof EventTask victim && queue.remove(victim)) {
+                drop(victim);
+                break;
+            }
+        }
+        if (!queue.offer(task))
+            drop(task);
+    }
+
+    private void spill(EventTask task) {
+        RegisteredHandler handler = task.handler();
+        String handlerId = handler.method().getDeclaringClass().getName() + "#" + handler.method().getName();
+        int spilled = 0;
+        try {
+            for (Event event : task.events()) {
+                if (!spillStore.push(new SpilledEvent(handlerId, event)))
+                    break;
+                spilled++;
+            }
+        } catch (RuntimeException e) {
+            log.error("EventSpillError", "Failed to spill events of " + task.eventType().getName(), e);
+        }
+        task.discard();
+        metrics.of(task.eventType()).recordSpilled(spilled);
+        int lost = task.events().size() - spilled;
+        if (lost > 0)
+            recordDropped(task, lost);
+    }
+
+    private void drop(EventTask task) {
+        task.discard();
+        recordDropped(task, task.events().size());
+    }
+
+    private void recordDropped(EventTask task, int count) {
+        long total = metrics.of(task.eventType()).recordDropped(count);
+        if (total == count || total / DROP_LOG_INTERVAL != (total - count) / DROP_LOG_INTERVAL)
+            log.warn("Event bus async queue is full, {} events dropped so far: {}", total, task.eventType().getName());
+    }
+}
@@ -0,0 +1,160 @@
+package com.junoyi.framework.event.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 批量事件收集器
+ * 每个 @EventHandler(batch = true) 处理器持有一个收集器，事件先在此累积，
+ * 达到数量阈值或距离窗口内第一个事件超过最大等待时间时，整批交给处理器执行
+ *
+ * @author Fan
+ */
+public class BatchCollector {
+
+    private final int maxSize;
+
+    private final long maxDelayNanos;
+
+    private List<Event> buffer;
+
+    /**
+     * 当前窗口是否已安排延迟刷新
+     */
+    private boolean armed;
+
+    /**
+     * 窗口代数，每次取走一批后递增，用于识别已过期的延迟刷新任务
+     */
+    private long generation;
+
+    /**
+     * 构造函数
+     *
+     * @param maxSize 触发刷新的事件数量
+     * @param maxDelay 窗口内第一个事件最多等待的时间
+     */
+    public BatchCollector(int maxSize, Duration maxDelay) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxDelayNanos = Math.max(1, maxDelay.toNanos());
+        this.buffer = new ArrayList<>(this.maxSize);
+    }
+
+    /**
+     * 添加一个事件
+     * 达到数量阈值时立即通过 flusher 交出整批事件；窗口内第一个事件会安排一次延迟刷新
+     *
+     * @param event 事件对象
+     * @param handler 收集器所属的处理器
+     * @param flusher 整批事件的执行回调
+     * @param timer 延迟刷新所用的时间轮
+     */
+    public void add(Event event, RegisteredHandler handler,
+                    BiConsumer<RegisteredHandler, List<Event>> flusher, HashedTimingWheel timer) {
+        addAll(List.of(event), handler, flusher, timer);
+    }
+
+    /**
+     * 添加一个事件，延迟刷新使用调度器（适用于等待时间短于时间轮刻度的场景）
+     *
+     * @param event 事件对象
+     * @param handler 收集器所属的处理器
+     * @param flusher 整批事件的执行回调
+     * @param timer 延迟刷新所用的调度器
+     */
+    public void add(Event event, RegisteredHandler handler,
+                    BiConsumer<RegisteredHandler, List<Event>> flusher, ScheduledExecutorService timer) {
+        long armGeneration = offer(List.of(event), handler, flusher);
+        if (armGeneration >= 0)
+            timer.schedule(() -> flush(handler, flusher, armGeneration), maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 批量添加事件，超过数量阈值的部分按阈值切分为多批依次交出
+     *
+     * @param events 事件列表
+     * @param handler 收集器所属的处理器
+     * @param flusher 整批事件的执行回调
+     * @param timer 延迟刷新所用的时间轮
+     */
+    public void addAll(List<? extends Event> events, RegisteredHandler handler,
+                       BiConsumer<RegisteredHandler, List<Event>> flusher, HashedTimingWheel timer) {
+        long armGeneration = offer(events, handler, flusher);
+        if (armGeneration >= 0)
+            timer.schedule(() -> flush(handler, flusher, armGeneration), maxDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 累积事件并交出达到数量阈值的批次
+     *
+     * @return 需要安排延迟刷新的窗口代数，无需安排时返回 -1
+     */
+    private long offer(List<? extends Event> events, RegisteredHandler handler,
+                       BiConsumer<RegisteredHandler, List<Event>> flusher) {
+        List<List<Event>> ready = null;
+        long armGeneration = -1;
+        synchronized (this) {
+            for (Event event : events) {
+                buffer.add(event);
+                if (buffer.size() >= maxSize) {
+                    if (ready == null)
+                        ready = new ArrayList<>();
+                    ready.add(drainLocked());
+                }
+            }
+            if (!buffer.isEmpty() && !armed) {
+                armed = true;
+                armGeneration = generation;
+            }
+        }
+        if (ready != null) {
+            for (List<Event> batch : ready)
+                flusher.accept(handler, batch);
+        }
+        return armGeneration;
+    }
+
+    /**
+     * 立即交出当前累积的全部事件（用于关闭时刷新）
+     *
+     * @param handler 收集器所属的处理器
+     * @param flusher 整批事件的执行回调
+     */
+    public void flush(RegisteredHandler handler, BiConsumer<RegisteredHandler, List<Event>> flusher) {
+        flush(handler, flusher, -1);
+    }
+
+    /**
+     * 获取当前累积的事件数量
+     *
+     * @return 事件数量
+     */
+    public synchronized int size() {
+        return buffer.size();
+    }
+
+    private void flush(RegisteredHandler handler, BiConsumer<RegisteredHandler, List<Event>> flusher, long expectedGeneration) {
+        List<Event> batch;
+        synchronized (this) {
+            // 该窗口已因数量阈值刷新过，延迟任务作废
+            if (expectedGeneration >= 0 && expectedGeneration != generation)
+                return;
+            if (buffer.isEmpty())
+                return;
+            batch = drainLocked();
+        }
+        flusher.accept(handler, batch);
+    }
+
+    private List<Event> drainLocked() {
+        List<Event> batch = buffer;
+        buffer = new ArrayList<>(maxSize);
+        armed = false;
+        generation++;
+        return batch;
+    }
+}
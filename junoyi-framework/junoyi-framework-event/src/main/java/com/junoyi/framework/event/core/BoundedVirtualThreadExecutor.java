@@ -0,0 +1,92 @@
+package com.junoyi.framework.event.core;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限制并发数的虚拟线程执行器
+ * 每个任务仍在独立的虚拟线程中运行，但任务体需先获取信号量许可，
+ * 超出并发上限的任务在虚拟线程内挂起等待，提交方不会被阻塞
+ *
+ * @author Fan
+ */
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    /**
+     * 构造函数
+     *
+     * @param threadFactory 虚拟线程工厂
+     * @param maxConcurrency 同时执行的最大任务数
+     */
+    public BoundedVirtualThreadExecutor(ThreadFactory threadFactory, int maxConcurrency) {
+        this.delegate = Executors.newThreadPerTaskExecutor(threadFactory);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                command.run();
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 获取当前正在执行的任务数
+     *
+     * @return 正在执行的任务数
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * 获取等待许可的任务数（估算值）
+     *
+     * @return 等待执行的任务数
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -6,4 +6,16 @@ package com.junoyi.framework.event.core;
  * @author Fan
  */
 public interface Event {
+
+    /**
+     * 获取事件的分区键（可选）
+     * 返回非 null 时，该事件的异步处理器会进入分区键对应的有序通道执行，
+     * 同一分区键的事件按触发顺序依次处理，不同分区键之间并行处理。
+     * 适用于同一用户、同一订单等实体的生命周期事件
+     *
+     * @return 分区键，默认 null 表示不需要保证顺序
+     */
+    default Object getPartitionKey() {
+        return null;
+    }
 }
@@ -1,11 +1,30 @@
 package com.junoyi.framework.event.core;
 
+import com.junoyi.framework.event.cluster.DistributedEventBridge;
+import com.junoyi.framework.event.cluster.EventCodec;
+import com.junoyi.framework.event.cluster.EventTransport;
+import com.junoyi.framework.event.domain.EventResult;
+import com.junoyi.framework.event.domain.SpilledEvent;
+import com.junoyi.framework.event.enums.EventPhase;
+import com.junoyi.framework.event.metrics.BackpressureMetrics;
+import com.junoyi.framework.event.metrics.EventBusMetrics;
+import com.junoyi.framework.event.metrics.EventBusSnapshot;
+import com.junoyi.framework.event.outbox.EventOutbox;
+import com.junoyi.framework.event.outbox.EventOutboxStore;
+import com.junoyi.framework.event.properties.EventBusProperties;
 import com.junoyi.framework.log.core.JunoYiLog;
 import com.junoyi.framework.log.core.JunoYiLogFactory;
+import org.springframework.expression.BeanResolver;
+import org.springframework.util.ClassUtils;
 
-import java.util.List;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
  * 事件总线
@@ -29,32 +48,171 @@ public class EventBus {
 
     private final EventRegistry registry = new EventRegistry();
 
-    private final ExecutorService asyncExecutor;
+    private volatile ExecutorService asyncExecutor;
 
-    private final AtomicInteger threadCounter = new AtomicInteger(0);
+    /**
+     * 分区有序通道，带分区键的事件的异步处理器在此按顺序执行
+     */
+    private volatile PartitionedLanes partitionLanes;
+
+    /**
+     * 环形缓冲区分发引擎，未启用时为 null
+     */
+    private volatile RingBufferDispatcher ringBuffer;
+
+    /**
+     * 集群事件桥，未开启集群广播时为 null
+     */
+    private volatile DistributedEventBridge clusterBridge;
+
+    /**
+     * 持久化事件发件箱，未开启时为 null
+     */
+    private volatile EventOutbox outbox;
 
     /**
-     * 构造方法，初始化异步执行线程池
-     * 核心线程数为CPU核心数，最大线程数为核心数的两倍，
-     * 使用自定义线程工厂创建带有特定名称和守护状态的线程。
+     * 共享时间轮（刻度 10ms），用于防抖/节流、批量处理器的延迟刷新和异步处理器的超时中断，
+     * 定时任务只入队不排序，大量处理器同时计时也只占用一个线程
+     */
+    private final HashedTimingWheel timerWheel = new HashedTimingWheel("EventBus-TimerWheel", Duration.ofMillis(10), 512);
+
+    /**
+     * 事件总线内部定时器，用于溢出事件回放和集群事件的定时发送等需要较高精度或固定周期的任务
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "EventBus-Timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 异步队列背压指标
+     */
+    private final BackpressureMetrics backpressureMetrics = new BackpressureMetrics();
+
+    /**
+     * 事件发布指标
+     */
+    private final EventBusMetrics metrics = new EventBusMetrics();
+
+    /**
+     * 溢出队列回放任务，未配置 SPILL 策略时为 null
+     */
+    private ScheduledFuture<?> spillReplay;
+
+    /**
+     * 批量处理器整批事件的执行回调
+     */
+    private final BiConsumer<RegisteredHandler, List<Event>> batchFlusher = this::dispatchBatch;
+
+    /**
+     * 批量触发事件时单个异步任务最多处理的事件数
+     */
+    private static final int ASYNC_CHUNK_SIZE = 256;
+
+    /**
+     * 是否引入了 spring-tx，未引入时事务阶段处理器立即执行
+     */
+    private static final boolean TRANSACTION_PRESENT = ClassUtils.isPresent(
+            "org.springframework.transaction.support.TransactionSynchronizationManager", EventBus.class.getClassLoader());
+
+    /**
+     * 事务到达处理器阶段时，整批事务内事件的分发回调
+     */
+    private final BiConsumer<RegisteredHandler, List<Event>> deferredFlusher = this::dispatchDeferred;
+
+    /**
+     * 防抖/节流合并后执行处理器的回调
+     */
+    private final BiConsumer<RegisteredHandler, Event> throttledRunner = this::runThrottled;
+
+    /**
+     * 构造方法，使用默认配置（平台线程池）初始化异步执行器
      */
     private EventBus() {
-        int corePoolSize = Runtime.getRuntime().availableProcessors();
-        int maxPoolSize = corePoolSize * 2;
-        asyncExecutor = new ThreadPoolExecutor(
-                corePoolSize,
-                maxPoolSize,
-                60L,
-                TimeUnit.SECONDS,
-                new LinkedBlockingQueue<>(1000),
-                r -> {
-                    Thread thread = new Thread(r);
-                    thread.setName("EventBus-Async-" + threadCounter.incrementAndGet());
-                    thread.setDaemon(true);
-                    return thread;
-                },
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        EventBusProperties defaults = new EventBusProperties();
+        asyncExecutor = EventExecutors.create(defaults.getExecutor(),
+                new BackpressureHandler(defaults.getBackpressure(), backpressureMetrics, null));
+        partitionLanes = new PartitionedLanes(defaults.getPartition().getLanes(),
+                defaults.getPartition().getLaneCapacity(), this::rejectLaneTask);
+    }
+
+    /**
+     * 应用事件总线配置
+     * 按配置重建异步执行器，旧执行器在完成已提交任务后关闭
+     *
+     * @param properties 事件总线配置属性
+     */
+    public void configure(EventBusProperties properties) {
+        configure(properties, null);
+    }
+
+    /**
+     * 应用事件总线配置，并指定 SPILL 背压策略使用的溢出存储
+     *
+     * @param properties 事件总线配置属性
+     * @param spillStore 溢出存储，为 null 时 SPILL 策略退化为 DROP_NEWEST
+     */
+    public synchronized void configure(EventBusProperties properties, EventSpillStore spillStore) {
+        ExecutorService previous = asyncExecutor;
+        RingBufferDispatcher previousRing = ringBuffer;
+        EventIds.configure(properties.getId());
+        EventBusProperties.Backpressure backpressure = properties.getBackpressure();
+        asyncExecutor = EventExecutors.create(properties.getExecutor(),
+                new BackpressureHandler(backpressure, backpressureMetrics, spillStore));
+        partitionLanes = new PartitionedLanes(properties.getPartition().getLanes(),
+                properties.getPartition().getLaneCapacity(), this::rejectLaneTask);
+        EventBusProperties.RingBuffer ringConfig = properties.getRingBuffer();
+        ringBuffer = ringConfig.isEnabled()
+                ? new RingBufferDispatcher(ringConfig.getBufferSize(), ringConfig.getConsumers(), this::runAsyncHandler)
+                : null;
+        if (spillReplay != null)
+            spillReplay.cancel(false);
+        spillReplay = spillStore != null && backpressure.isSpillConfigured()
+                ? scheduler.scheduleWithFixedDelay(() -> replaySpilled(spillStore, backpressure.getReplayBatchSize()),
+                        1, 1, TimeUnit.SECONDS)
+                : null;
+        previous.shutdown();
+        if (previousRing != null)
+            previousRing.shutdown(5, TimeUnit.SECONDS);
+        log.info("EventBusConfigure", "AsyncExecutorMode=" + properties.getExecutor().getMode()
+                + " | PartitionLanes=" + partitionLanes.getLaneCount()
+                + " | RingBuffer=" + ringConfig.isEnabled()
+                + " | Backpressure=" + backpressure.getPolicy());
+    }
+
+    /**
+     * 开启集群事件广播
+     * 此后本节点触发的 @DistributedEvent 事件会批量广播到其他节点，其他节点广播的事件交给本节点的监听器处理
+     *
+     * @param transport 传输通道
+     * @param codec 事件编解码器
+     * @param config 集群配置
+     */
+    public synchronized void enableCluster(EventTransport transport, EventCodec codec, EventBusProperties.Cluster config) {
+        DistributedEventBridge previous = clusterBridge;
+        DistributedEventBridge bridge = new DistributedEventBridge(transport, codec, config, scheduler, this::deliverRemote);
+        bridge.start();
+        clusterBridge = bridge;
+        if (previous != null)
+            previous.shutdown();
+    }
+
+    /**
+     * 开启持久化事件发件箱
+     * 标记了 @OutboxEvent 的事件触发后先写入发件箱，由中继取出后在本节点同步执行全部处理器，
+     * 处理器全部成功后才从发件箱删除，有处理器失败时退避后重新投递
+     *
+     * @param store 发件箱存储
+     * @param config 发件箱配置
+     */
+    public synchronized void enableOutbox(EventOutboxStore store, EventBusProperties.Outbox config) {
+        EventOutbox previous = outbox;
+        EventOutbox created = new EventOutbox(store, config, this::deliverOutbox);
+        created.start();
+        outbox = created;
+        if (previous != null)
+            previous.shutdown(5000);
     }
 
     /**
@@ -66,84 +224,846 @@ public class EventBus {
         registry.registerListener(listener);
     }
 
+    /**
+     * 设置处理器执行条件中 @beanName 引用使用的 Bean 解析器
+     *
+     * @param beanResolver Bean 解析器
+     */
+    public void setBeanResolver(BeanResolver beanResolver){
+        registry.setBeanResolver(beanResolver);
+    }
+
     public void registerListener(Listener listener){
         registerListener((Object) listener);
     }
 
+    /**
+     * 按编译期生成的监听器索引注册事件监听器
+     *
+     * @param listener 要注册的监听器对象
+     * @param listenerClass 索引中记录的监听器类
+     * @param entries 监听器的处理方法索引
+     */
+    public void registerListener(Object listener, Class<?> listenerClass, List<EventListenerIndex.Entry> entries){
+        registry.registerListener(listener, listenerClass, entries);
+    }
+
+    /**
+     * 注销监听器在指定事件类型上的处理器
+     * 可在事件分发过程中调用，正在进行的分发仍使用注销前的处理器快照
+     *
+     * @param listener 已注册的监听器对象
+     * @param eventType 处理方法声明的事件类型
+     */
+    public void unregisterListener(Object listener, Class<? extends Event> eventType){
+        registry.unregisterListener(listener, eventType);
+    }
+
+    /**
+     * 注销监听器的全部处理器
+     *
+     * @param listener 已注册的监听器对象
+     */
+    public void unregisterAll(Object listener){
+        registry.unregisterAll(listener);
+    }
+
     /**
      * 触发事件，调用所有注册的事件处理器
      * 同步处理器按照优先级从高到低顺序执行
-     * 异步处理器提交到线程池并发执行，不阻塞主线程
+     * 异步处理器提交到线程池并发执行，不阻塞主线程；
+     * 事件带有分区键时，异步处理器进入分区通道，同一分区键的事件按触发顺序处理
      *
      * @param event 要触发的事件对象
      * @param <T> 事件类型
      */
     public <T extends Event> void callEvent(T event){
+        metrics.recordPublished(event.getClass());
+        forwardToCluster(event);
+        if (!appendToOutbox(event))
+            dispatchLocal(event);
+    }
+
+    /**
+     * 将发件箱事件写入发件箱
+     *
+     * @param event 事件对象
+     * @return 已写入发件箱返回 true；未开启发件箱或事件未标记 @OutboxEvent 时返回 false
+     */
+    private boolean appendToOutbox(Event event) {
+        EventOutbox durable = outbox;
+        if (durable == null || !EventOutbox.isOutboxEvent(event.getClass()))
+            return false;
+        durable.append(List.of(event));
+        return true;
+    }
+
+    /**
+     * 在本节点分发事件
+     *
+     * @param event 要触发的事件对象
+     */
+    private void dispatchLocal(Event event){
         // 获取该事件类型对应的所有已注册处理器
-        List<RegisteredHandler> handlers = registry.getHandlers(event.getClass());
-        int handlerCount = handlers.size();
+        RegisteredHandler[] handlers = registry.getHandlers(event.getClass());
+        int handlerCount = handlers.length;
         if (handlerCount <= 0)
             return;
-        log.info("EventTrigger", "Event="+event.getClass().getSimpleName() + " | " + "HandlerCount=" + handlerCount );
+        if (log.isDebugEnabled())
+            log.debug("[EventTrigger] Event={} | HandlerCount={}", event.getClass().getSimpleName(), handlerCount);
+        Object partitionKey = event.getPartitionKey();
         // 按优先级顺序遍历并调用每个处理器的方法
         for (RegisteredHandler handler : handlers){
-            if (handler.async()) {
-                // 异步执行，不阻塞主线程
-                asyncExecutor.submit(() -> executeHandler(handler, event));
+            dispatch(handler, event, partitionKey);
+        }
+    }
+
+    /**
+     * 在当前线程上同步执行发件箱事件的全部处理器
+     * 由发件箱中继在取出事件的存储事务内调用，返回后发件箱才删除成功的事件，因此异步处理器同样在当前线程执行，
+     * 不经过异步执行器、隔离舱和防抖/节流合并；批量处理器一次接收这块事件中满足条件的全部事件。
+     * 有处理器抛出异常的事件（批量处理器失败时为整批事件）返回给发件箱重新投递，重新投递时全部处理器都会再次执行
+     *
+     * @param events 发件箱中取出的一块事件
+     * @return 有处理器失败的事件
+     */
+    private Collection<Event> deliverOutbox(List<Event> events) {
+        Set<Event> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Class<? extends Event>, List<Event>> grouped = new LinkedHashMap<>();
+        for (Event event : events)
+            grouped.computeIfAbsent(event.getClass(), k -> new ArrayList<>()).add(event);
+        grouped.forEach((eventType, group) -> {
+            for (RegisteredHandler handler : registry.getHandlers(eventType)) {
+                List<Event> accepted = new ArrayList<>(group.size());
+                for (Event event : group) {
+                    if (accepts(handler, event))
+                        accepted.add(event);
+                }
+                if (accepted.isEmpty())
+                    continue;
+                if (handler.batch() != null) {
+                    if (runDurable(handler, accepted) != null)
+                        failed.addAll(accepted);
+                } else {
+                    for (Event event : accepted) {
+                        if (runDurable(handler, event) != null)
+                            failed.add(event);
+                    }
+                }
+            }
+        });
+        return failed;
+    }
+
+    /**
+     * 在当前线程上执行发件箱事件的处理器，超过截止时间只记录不中断
+     *
+     * @return 处理器抛出的异常，执行成功时返回 null
+     */
+    private Throwable runDurable(RegisteredHandler handler, Object argument) {
+        return handler.timeoutNanos() > 0
+                ? executeMeasured(handler, argument)
+                : executeHandler(handler, argument);
+    }
+
+    /**
+     * 批量触发事件
+     * 同一具体类型的事件只查找一次处理器，整批只记录一条日志：
+     * 批量处理器一次性接收全部事件，其余异步处理器按块提交，每个任务依次处理一块事件；
+     * 对于每个事件，处理器仍按优先级从高到低执行，但不同事件之间的处理器执行可能交错
+     *
+     * @param events 要触发的事件集合
+     */
+    public void callEvents(Collection<? extends Event> events){
+        if (events == null || events.isEmpty())
+            return;
+        // 按具体类型分组，保持组内事件的原始顺序
+        Map<Class<? extends Event>, List<Event>> grouped = new LinkedHashMap<>();
+        for (Event event : events) {
+            forwardToCluster(event);
+            grouped.computeIfAbsent(event.getClass(), k -> new ArrayList<>()).add(event);
+        }
+        if (log.isDebugEnabled())
+            log.debug("[BatchEventTrigger] Events={} | EventTypes={}", events.size(), grouped.size());
+
+        EventOutbox durable = outbox;
+        List<Event> outboxEvents = new ArrayList<>();
+        grouped.forEach((eventType, group) -> {
+            metrics.recordPublished(eventType, group.size());
+            if (durable != null && EventOutbox.isOutboxEvent(eventType)) {
+                // 发件箱事件合并为一组写入，由中继分发
+                outboxEvents.addAll(group);
+                return;
+            }
+            for (RegisteredHandler handler : registry.getHandlers(eventType)){
+                if (handler.condition() != null || handler.phase() != EventPhase.IMMEDIATE) {
+                    // 带执行条件或事务阶段的处理器逐个判断
+                    for (Event event : group)
+                        dispatch(handler, event, event.getPartitionKey());
+                } else {
+                    dispatchGroup(handler, eventType, group);
+                }
+            }
+        });
+        if (!outboxEvents.isEmpty())
+            durable.append(outboxEvents);
+    }
+
+    /**
+     * 将同一处理器的一组事件整批分发
+     * 批量处理器一次性接收全部事件，无隔离舱和超时限制的普通异步处理器按块提交，其余逐个分发
+     *
+     * @param handler 事件处理器
+     * @param eventType 事件类型（用于匹配背压策略）
+     * @param group 事件列表
+     */
+    private void dispatchGroup(RegisteredHandler handler, Class<?> eventType, List<Event> group) {
+        if (handler.throttle() != null) {
+            for (Event event : group)
+                handler.throttle().submit(event, handler, timerWheel, throttledRunner);
+        } else if (handler.batch() != null) {
+            handler.batch().addAll(group, handler, batchFlusher, timerWheel);
+        } else if (handler.async() && ringBuffer == null && handler.bulkhead() == null
+                && handler.timeoutNanos() == 0 && !hasPartitionKey(group)) {
+            // 避免每个事件一次任务提交
+            for (int from = 0; from < group.size(); from += ASYNC_CHUNK_SIZE) {
+                List<Event> chunk = group.subList(from, Math.min(group.size(), from + ASYNC_CHUNK_SIZE));
+                asyncExecutor.execute(new EventTask(handler, eventType, chunk,
+                        () -> chunk.forEach(event -> executeHandler(handler, event))));
+            }
+        } else {
+            for (Event event : group)
+                dispatchNow(handler, event, event.getPartitionKey());
+        }
+    }
+
+    /**
+     * 分发事务缓冲的一组事件，事件已在缓冲前通过执行条件判断
+     *
+     * @param handler 事务阶段处理器
+     * @param events 事务内触发的全部事件
+     */
+    private void dispatchDeferred(RegisteredHandler handler, List<Event> events) {
+        if (log.isDebugEnabled())
+            log.debug("[TransactionalEventTrigger] Handler={} | Phase={} | Events={}", handler.name(), handler.phase(), events.size());
+        dispatchGroup(handler, events.get(0).getClass(), events);
+    }
+
+    /**
+     * 尝试将事件缓冲到当前事务
+     *
+     * @param handler 事件处理器
+     * @param event 事件对象
+     * @return 已缓冲返回 true；处理器为立即执行、未引入 spring-tx 或当前线程没有活动事务时返回 false
+     */
+    private boolean deferToTransaction(RegisteredHandler handler, Event event) {
+        return handler.phase() != EventPhase.IMMEDIATE && TRANSACTION_PRESENT
+                && TransactionalEventBuffer.defer(this, handler, event, deferredFlusher);
+    }
+
+    /**
+     * 按处理器类型分发单个事件
+     * 先判断执行条件，事务阶段处理器在当前线程有活动事务时缓冲到事务中
+     *
+     * @param handler 事件处理器
+     * @param event 事件对象
+     * @param partitionKey 事件的分区键，可为 null
+     */
+    private void dispatch(RegisteredHandler handler, Event event, Object partitionKey) {
+        if (!accepts(handler, event)) {
+            // 不满足执行条件，不进入批量收集器或异步执行器
+        } else if (!deferToTransaction(handler, event)) {
+            dispatchNow(handler, event, partitionKey);
+        }
+    }
+
+    /**
+     * 立即分发单个事件，不再判断执行条件和事务阶段
+     *
+     * @param handler 事件处理器
+     * @param event 事件对象
+     * @param partitionKey 事件的分区键，可为 null
+     */
+    private void dispatchNow(RegisteredHandler handler, Event event, Object partitionKey) {
+        if (handler.throttle() != null) {
+            // 防抖/节流：一轮突发事件合并为一次执行
+            handler.throttle().submit(event, handler, timerWheel, throttledRunner);
+        } else if (handler.batch() != null) {
+            // 批量处理器：先累积，满足数量或时间条件后整批执行
+            handler.batch().add(event, handler, batchFlusher, timerWheel);
+        } else if (!tryEnter(handler, event.getClass().getSimpleName())) {
+            // 超过处理器并发上限，本次调用被隔离舱拒绝
+        } else if (handler.async()) {
+            // 异步执行，不阻塞主线程；并发许可在执行结束后释放
+            RingBufferDispatcher ring = ringBuffer;
+            if (partitionKey != null) {
+                // 通道已满或线程池拒绝调度通道时，按事件类型的背压策略处理，见 rejectLaneTask
+                partitionLanes.execute(partitionKey, new EventTask(handler, event.getClass(), List.of(event),
+                        () -> runAsyncHandler(handler, event)), asyncExecutor);
+            } else if (ring == null || !ring.publish(handler, event)) {
+                // 未启用环形缓冲区，或缓冲区已关闭、消费者线程向自己已满的缓冲区发布时，交给异步执行器和背压策略
+                asyncExecutor.execute(new EventTask(handler, event.getClass(), List.of(event),
+                        () -> runAsyncHandler(handler, event)));
+            }
+        } else {
+            // 同步执行
+            runGuarded(handler, event, false);
+        }
+    }
+
+    /**
+     * 将批量处理器累积的一批事件提交到异步执行器
+     * 由时间轮到期刷新时，队列写满不会在时间轮线程上执行或阻塞，见 {@link EventTask#isCallerRunsAllowed()}
+     *
+     * @param handler 批量处理器
+     * @param batch 整批事件
+     */
+    private void dispatchBatch(RegisteredHandler handler, List<Event> batch) {
+        if (tryEnter(handler, "Batch[" + batch.size() + "]"))
+            asyncExecutor.execute(new EventTask(handler, batch.get(0).getClass(), batch,
+                    () -> runAsyncHandler(handler, batch), !timerWheel.inWorkerThread()));
+    }
+
+    /**
+     * 将防抖/节流合并后的事件提交到异步执行器
+     * 在时间轮线程上调用时不能阻塞，因此合并后的执行始终异步，队列写满时也不会退回到时间轮线程上执行
+     *
+     * @param handler 防抖/节流处理器
+     * @param event 合并后保留的最后一个事件
+     */
+    private void runThrottled(RegisteredHandler handler, Event event) {
+        if (tryEnter(handler, event.getClass().getSimpleName()))
+            asyncExecutor.execute(new EventTask(handler, event.getClass(), List.of(event),
+                    () -> runAsyncHandler(handler, event), !timerWheel.inWorkerThread()));
+    }
+
+    /**
+     * 从溢出队列取回事件重新分发
+     * 仅在平台线程池队列剩余容量超过一半时取回，避免回放本身再次触发背压
+     *
+     * @param spillStore 溢出存储
+     * @param batchSize 本次最多取回的事件数
+     */
+    private void replaySpilled(EventSpillStore spillStore, int batchSize) {
+        try {
+            for (int i = 0; i < batchSize && hasSpareCapacity(); i++) {
+                SpilledEvent spilled = spillStore.poll();
+                if (spilled == null)
+                    return;
+                Event event = spilled.event();
+                RegisteredHandler handler = findHandler(event.getClass(), spilled.handler());
+                if (handler == null) {
+                    log.warn("Spilled event dropped, handler no longer registered: {}", spilled.handler());
+                    continue;
+                }
+                backpressureMetrics.of(event.getClass()).recordReplayed();
+                dispatch(handler, event, event.getPartitionKey());
+            }
+        } catch (RuntimeException e) {
+            log.error("EventSpillReplayError", "Failed to replay spilled events", e);
+        }
+    }
+
+    private boolean hasSpareCapacity() {
+        if (asyncExecutor instanceof ThreadPoolExecutor pool) {
+            BlockingQueue<Runnable> queue = pool.getQueue();
+            return queue.remainingCapacity() > queue.size();
+        }
+        return true;
+    }
+
+    private RegisteredHandler findHandler(Class<? extends Event> eventType, String handlerId) {
+        for (RegisteredHandler handler : registry.getHandlers(eventType)) {
+            Method method = handler.method();
+            if (handlerId.equals(method.getDeclaringClass().getName() + "#" + method.getName()))
+                return handler;
+        }
+        return null;
+    }
+
+    /**
+     * 判断事件是否满足处理器的执行条件
+     * 条件求值失败时记录错误日志并视为不满足
+     *
+     * @param handler 事件处理器
+     * @param event 事件对象
+     * @return 无条件或满足条件时返回 true
+     */
+    private boolean accepts(RegisteredHandler handler, Event event) {
+        HandlerCondition condition = handler.condition();
+        if (condition == null)
+            return true;
+        try {
+            return condition.test(event);
+        } catch (RuntimeException e) {
+            log.error("EventConditionError", "Failed to evaluate condition [" + condition.getSource() + "] of " + handler.name(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 尝试获取处理器的并发许可（隔离舱）
+     * 获取失败时记录拒绝指标和日志
+     *
+     * @param handler 事件处理器
+     * @param eventName 事件名称（用于日志）
+     * @return 获取成功或处理器不限制并发时返回 true
+     */
+    private boolean tryEnter(RegisteredHandler handler, String eventName) {
+        Semaphore bulkhead = handler.bulkhead();
+        if (bulkhead == null || bulkhead.tryAcquire())
+            return true;
+        handler.metrics().recordRejected();
+        log.warn("Event handler concurrency limit reached, rejected: {} | Event={}", handler.name(), eventName);
+        return false;
+    }
+
+    /**
+     * 在异步线程中执行处理器（调用前须已通过 tryEnter 获取并发许可）
+     *
+     * @param handler 事件处理器
+     * @param argument 事件对象，批量处理器为事件列表
+     */
+    private void runAsyncHandler(RegisteredHandler handler, Object argument) {
+        runGuarded(handler, argument, true);
+    }
+
+    /**
+     * 在截止时间约束下执行处理器，结束后释放并发许可
+     *
+     * @param handler 事件处理器
+     * @param argument 事件对象，批量处理器为事件列表
+     * @param interruptible 超时后是否中断执行线程（调用方线程上的同步处理器不中断）
+     * @return 处理器抛出的异常，执行成功时返回 null
+     */
+    private Throwable runGuarded(RegisteredHandler handler, Object argument, boolean interruptible) {
+        try {
+            if (handler.timeoutNanos() <= 0)
+                return executeHandler(handler, argument);
+            return interruptible
+                    ? executeWithWatchdog(handler, argument)
+                    : executeMeasured(handler, argument);
+        } finally {
+            if (handler.bulkhead() != null)
+                handler.bulkhead().release();
+        }
+    }
+
+    /**
+     * 执行处理器，并由定时器在截止时间到达时中断执行线程
+     */
+    private Throwable executeWithWatchdog(RegisteredHandler handler, Object argument) {
+        Thread worker = Thread.currentThread();
+        // 0=执行中 1=已正常结束 2=正在中断 3=已中断
+        AtomicInteger state = new AtomicInteger();
+        HashedTimingWheel.Timeout watchdog = timerWheel.schedule(() -> {
+            if (state.compareAndSet(0, 2)) {
+                handler.metrics().recordTimedOut();
+                log.warn("Event handler exceeded its deadline of {}ms and was interrupted: {}",
+                        TimeUnit.NANOSECONDS.toMillis(handler.timeoutNanos()), handler.name());
+                worker.interrupt();
+                state.set(3);
+            }
+        }, handler.timeoutNanos(), TimeUnit.NANOSECONDS);
+        try {
+            return executeHandler(handler, argument);
+        } finally {
+            if (state.compareAndSet(0, 1)) {
+                // 正常结束时撤销定时任务，释放其引用的执行线程和事件
+                watchdog.cancel();
             } else {
-                // 同步执行
-                executeHandler(handler, event);
+                // 等待定时器完成中断后清除中断标记，避免影响线程池中的下一个任务
+                while (state.get() == 2)
+                    Thread.onSpinWait();
+                Thread.interrupted();
             }
         }
     }
 
+    /**
+     * 执行处理器并在结束后检查是否超过截止时间（不中断调用方线程）
+     */
+    private Throwable executeMeasured(RegisteredHandler handler, Object argument) {
+        long start = System.nanoTime();
+        try {
+            return executeHandler(handler, argument);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (elapsed > handler.timeoutNanos()) {
+                handler.metrics().recordTimedOut();
+                log.warn("Event handler exceeded its deadline of {}ms (took {}ms): {}",
+                        TimeUnit.NANOSECONDS.toMillis(handler.timeoutNanos()), TimeUnit.NANOSECONDS.toMillis(elapsed), handler.name());
+            }
+        }
+    }
+
+    /**
+     * 开启集群广播时，将 @DistributedEvent 事件加入集群发件箱
+     *
+     * @param event 事件对象
+     */
+    private void forwardToCluster(Event event) {
+        DistributedEventBridge bridge = clusterBridge;
+        if (bridge != null && DistributedEventBridge.isDistributed(event.getClass()))
+            bridge.forward(event);
+    }
+
+    /**
+     * 分发其他节点广播的事件（只在本节点分发，不再次广播）
+     *
+     * @param event 事件对象
+     */
+    private void deliverRemote(Event event) {
+        try {
+            dispatchLocal(event);
+        } catch (RuntimeException e) {
+            log.error("DistributedEventDispatchError", "Failed to dispatch remote event: " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * 处理分区通道拒绝的任务（通道已满或异步执行器拒绝调度通道）
+     * 事件任务交给平台线程池的背压处理器，按事件类型的策略执行、阻塞入队、丢弃或溢出，
+     * 由线程池执行或溢出回放的事件不再保证与同分区键其他事件的顺序；
+     * 处理器链以拒绝异常结束；虚拟线程执行器没有队列上限，任务直接提交
+     *
+     * @param task 被拒绝的任务
+     * @param executor 通道调度使用的执行器
+     */
+    private void rejectLaneTask(Runnable task, Executor executor) {
+        if (task instanceof ChainTask chain) {
+            chain.reject();
+            return;
+        }
+        try {
+            if (task instanceof EventTask eventTask && executor instanceof ThreadPoolExecutor pool)
+                pool.getRejectedExecutionHandler().rejectedExecution(eventTask, pool);
+            else
+                executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 执行器已关闭
+            if (task instanceof EventTask eventTask) {
+                eventTask.discard();
+                backpressureMetrics.of(eventTask.eventType()).recordDropped(eventTask.events().size());
+            }
+            log.warn("Partitioned event task rejected: {}", e.getMessage());
+        }
+    }
+
+    private static boolean hasPartitionKey(List<Event> events) {
+        for (Event event : events) {
+            if (event.getPartitionKey() != null)
+                return true;
+        }
+        return false;
+    }
+
     /**
      * 异步触发事件，强制将所有处理器以异步方式提交到线程池中执行
-     * 所有处理器按优先级顺序执行，每个处理器等待前一个完成后再执行
+     * 所有处理器按优先级顺序串联执行，前一个完成后再执行下一个，调用方不会被阻塞；
+     * 事件带有分区键时，整条处理器链作为一个任务进入分区通道，同一分区键的事件链按触发顺序执行
+     *
+     * @param event 要触发的事件对象
+     * @param <T> 事件类型
+     * @return 处理器链全部结束后完成的 Future，包含各处理器的执行结果
+     */
+    public <T extends Event> CompletableFuture<EventResult> callAsyncEvent(T event){
+        return callAsyncEvent(event, null);
+    }
+
+    /**
+     * 异步触发事件，并为整条处理器链设置超时时间
+     * 超时后尚未开始的处理器将被跳过，返回结果标记为超时
      *
      * @param event 要触发的事件对象
+     * @param timeout 整条处理器链的超时时间，为 null 时不限制
      * @param <T> 事件类型
+     * @return 处理器链全部结束（或超时）后完成的 Future，包含各处理器的执行结果
      */
-    public <T extends Event> void callAsyncEvent(T event){
+    public <T extends Event> CompletableFuture<EventResult> callAsyncEvent(T event, Duration timeout){
+        // 集群广播不计入返回结果，结果只包含本节点的处理器
+        forwardToCluster(event);
         // 获取该事件类型对应的所有已注册处理器
-        List<RegisteredHandler> handlers = registry.getHandlers(event.getClass());
-        int listenerCount = handlers.size();
-        log.info("AsyncEventTrigger", "Event="+event.getClass().getSimpleName() + " | " + "ListenerCount=" + listenerCount );
-        // 所有处理器都异步执行，但按优先级顺序等待完成
-        for (RegisteredHandler handler : handlers){
-            Future<?> future = asyncExecutor.submit(() -> executeHandler(handler, event));
+        RegisteredHandler[] handlers = registry.getHandlers(event.getClass());
+        int listenerCount = handlers.length;
+        metrics.recordPublished(event.getClass());
+        if (appendToOutbox(event)) {
+            // 发件箱事件由中继分发，处理结果不属于本次调用
+            return CompletableFuture.completedFuture(new EventResult(event, 0, 0, List.of(), false));
+        }
+        if (log.isDebugEnabled())
+            log.debug("[AsyncEventTrigger] Event={} | ListenerCount={}", event.getClass().getSimpleName(), listenerCount);
+        if (listenerCount <= 0)
+            return CompletableFuture.completedFuture(new EventResult(event, 0, 0, List.of(), false));
+
+        Executor executor = asyncExecutor;
+        Queue<EventResult.HandlerFailure> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicBoolean abandoned = new AtomicBoolean();
+        RegisteredHandler[] chained = excludeDeferred(handlers, event, completed);
+
+        // 按优先级顺序串联处理器，单个处理器失败只记录，不中断后续处理器
+        CompletableFuture<Void> chain;
+        Object partitionKey = event.getPartitionKey();
+        if (partitionKey != null) {
+            // 通道拒绝处理器链时以 RejectedExecutionException 结束，与处理器链中的提交失败一样通过返回结果报告
+            ChainTask task = new ChainTask(() -> {
+                for (RegisteredHandler handler : chained)
+                    runChained(handler, event, abandoned, completed, failures);
+            });
+            partitionLanes.execute(partitionKey, task, executor);
+            chain = task.future;
+        } else {
+            chain = CompletableFuture.completedFuture(null);
+            for (RegisteredHandler handler : chained)
+                chain = chain.thenRunAsync(() -> runChained(handler, event, abandoned, completed, failures), executor);
+        }
+        if (timeout != null)
+            chain = chain.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+
+        return chain.handle((ignored, error) -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            boolean timedOut = cause instanceof TimeoutException;
+            if (timedOut) {
+                abandoned.set(true);
+                log.warn("Async event handler chain timed out after {}ms: {}", timeout.toMillis(), event.getClass().getSimpleName());
+            } else if (cause != null) {
+                // 处理器自身的异常已被收集，这里只会是提交失败等链路异常
+                log.error("AsyncEventChainError", "Async handler chain aborted: " + event.getClass().getSimpleName(), cause);
+            }
+            return new EventResult(event, listenerCount, completed.get(), new ArrayList<>(failures), timedOut);
+        });
+    }
+
+    /**
+     * 在调用方线程上将事务阶段处理器的事件缓冲到当前事务
+     * 处理器链运行在异步线程上，无法感知调用方的事务，已缓冲（或不满足执行条件）的处理器视为已完成并移出处理器链
+     *
+     * @param handlers 事件的全部处理器
+     * @param event 事件对象
+     * @param completed 已完成的处理器计数
+     * @return 需要在处理器链中执行的处理器
+     */
+    private RegisteredHandler[] excludeDeferred(RegisteredHandler[] handlers, Event event, AtomicInteger completed) {
+        List<RegisteredHandler> chained = null;
+        for (int i = 0; i < handlers.length; i++) {
+            RegisteredHandler handler = handlers[i];
+            boolean skip = handler.phase() != EventPhase.IMMEDIATE && TRANSACTION_PRESENT
+                    && (!accepts(handler, event) || deferToTransaction(handler, event));
+            if (skip) {
+                completed.incrementAndGet();
+                if (chained == null)
+                    chained = new ArrayList<>(Arrays.asList(handlers).subList(0, i));
+            } else if (chained != null) {
+                chained.add(handler);
+            }
+        }
+        return chained == null ? handlers : chained.toArray(new RegisteredHandler[0]);
+    }
+
+    /**
+     * 执行处理器链中的一个处理器，并记录执行结果
+     * 处理器链已超时放弃时直接跳过
+     */
+    private void runChained(RegisteredHandler handler, Event event, AtomicBoolean abandoned,
+                            AtomicInteger completed, Queue<EventResult.HandlerFailure> failures) {
+        if (abandoned.get())
+            return;
+        if (!accepts(handler, event)) {
+            // 不满足执行条件的处理器视为已完成
+            completed.incrementAndGet();
+            return;
+        }
+        if (handler.batch() != null) {
+            // 批量处理器只负责收集，整批执行不属于本次处理器链
+            handler.batch().add(event, handler, batchFlusher, timerWheel);
+            completed.incrementAndGet();
+            return;
+        }
+        if (handler.throttle() != null) {
+            // 防抖/节流处理器合并后的执行同样不属于本次处理器链
+            handler.throttle().submit(event, handler, timerWheel, throttledRunner);
+            completed.incrementAndGet();
+            return;
+        }
+        if (!tryEnter(handler, event.getClass().getSimpleName())) {
+            failures.add(new EventResult.HandlerFailure(handler,
+                    new RejectedExecutionException("Event handler concurrency limit reached: " + handler.name())));
+            return;
+        }
+        Throwable failure = runGuarded(handler, event, true);
+        if (failure == null)
+            completed.incrementAndGet();
+        else
+            failures.add(new EventResult.HandlerFailure(handler, failure));
+    }
+
+    /**
+     * 分区通道中的处理器链任务，结束或被通道拒绝时完成 future
+     */
+    private static final class ChainTask implements Runnable {
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private final Runnable body;
+
+        private ChainTask(Runnable body) {
+            this.body = body;
+        }
+
+        @Override
+        public void run() {
             try {
-                future.get(); // 等待当前处理器完成
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("AsyncEventHandlerInterrupted", "Async handler execution was interrupted: " + handler.method().getName(), e);
-            } catch (ExecutionException e) {
-                log.error("AsyncEventHandlerExecutionError", "Async handler execution failed: " + handler.method().getName(), e.getCause());
+                body.run();
+                future.complete(null);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
             }
         }
+
+        private void reject() {
+            future.completeExceptionally(new RejectedExecutionException(
+                    "Event bus async queue is full, partitioned handler chain rejected"));
+        }
     }
 
     /**
      * 执行事件处理器
-     * 捕获执行过程中的异常，并记录错误日志
+     * 捕获执行过程中的异常，并记录错误日志和执行耗时
      *
      * @param handler 事件处理器
-     * @param event 事件对象
-     * @param <T> 事件类型
+     * @param argument 事件对象，批量处理器为事件列表
+     * @return 处理器抛出的异常，执行成功时返回 null
      */
-    private <T extends Event> void executeHandler(RegisteredHandler handler, T event) {
+    private Throwable executeHandler(RegisteredHandler handler, Object argument) {
+        long start = System.nanoTime();
         try {
-            handler.method().invoke(handler.listener(), event);
-        } catch (Exception e){
+            handler.invoker().invoke(argument);
+            handler.metrics().recordInvocation(System.nanoTime() - start, false);
+            return null;
+        } catch (Throwable e){
+            handler.metrics().recordInvocation(System.nanoTime() - start, true);
             log.error("EventHandlerError", "Failed to execute handler: " + handler.method().getName(), e);
+            return e;
         }
     }
+    /**
+     * 获取异步执行器中等待执行的任务数
+     * 平台线程池为队列长度，VIRTUAL_BOUNDED 模式为等待并发许可的任务数，环形缓冲区模式另计其积压量
+     *
+     * @return 等待执行的任务数
+     */
+    public long getQueueDepth() {
+        ExecutorService executor = asyncExecutor;
+        long depth = 0;
+        if (executor instanceof ThreadPoolExecutor pool)
+            depth = pool.getQueue().size();
+        else if (executor instanceof BoundedVirtualThreadExecutor bounded)
+            depth = bounded.getWaitingCount();
+        RingBufferDispatcher ring = ringBuffer;
+        if (ring != null)
+            depth += ring.getBacklog();
+        return depth + partitionLanes.getPendingCount();
+    }
+
+    /**
+     * 获取异步执行器中正在执行的任务数
+     * 平台线程池为活跃线程数，VIRTUAL_BOUNDED 模式为占用的并发许可数，VIRTUAL 模式无法统计时返回 -1
+     *
+     * @return 正在执行的任务数
+     */
+    public int getActiveCount() {
+        ExecutorService executor = asyncExecutor;
+        if (executor instanceof ThreadPoolExecutor pool)
+            return pool.getActiveCount();
+        if (executor instanceof BoundedVirtualThreadExecutor bounded)
+            return bounded.getActiveCount();
+        return -1;
+    }
+
+    /**
+     * 获取事件发布指标
+     *
+     * @return 事件发布指标
+     */
+    public EventBusMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 遍历当前注册的所有处理器（用于导出处理器指标）
+     *
+     * @param action 对每个处理器执行的操作
+     */
+    public void forEachHandler(Consumer<RegisteredHandler> action) {
+        registry.forEachHandler(action);
+    }
+
+    /**
+     * 设置注册或注销处理器后的回调（用于同步处理器指标）
+     *
+     * @param listener 回调
+     */
+    public void onHandlersChanged(Runnable listener) {
+        registry.onChange(listener);
+    }
+
+    /**
+     * 生成事件总线指标快照
+     *
+     * @return 指标快照
+     */
+    public EventBusSnapshot snapshot() {
+        return EventBusSnapshot.of(this);
+    }
+
+    /**
+     * 获取异步队列背压指标（按事件类型统计的丢弃、溢出、回放等计数）
+     *
+     * @return 背压指标
+     */
+    public BackpressureMetrics getBackpressureMetrics() {
+        return backpressureMetrics;
+    }
+
+    /**
+     * 获取集群事件桥
+     *
+     * @return 集群事件桥，未开启集群广播时返回 null
+     */
+    public DistributedEventBridge getClusterBridge() {
+        return clusterBridge;
+    }
+
+    /**
+     * 获取持久化事件发件箱
+     *
+     * @return 事件发件箱，未开启时返回 null
+     */
+    public EventOutbox getOutbox() {
+        return outbox;
+    }
 
     /**
      * 关闭事件总线，释放线程池资源
-     * 先尝试平滑关闭线程池，若超时则强制关闭
+     * 先刷新批量处理器中累积的事件，再尝试平滑关闭线程池，若超时则强制关闭
      */
     public void shutdown() {
+        EventOutbox durable = outbox;
+        if (durable != null)
+            durable.shutdown(5000);
+        DistributedEventBridge bridge = clusterBridge;
+        if (bridge != null)
+            bridge.shutdown();
+        registry.forEachHandler(handler -> {
+            if (handler.batch() != null)
+                handler.batch().flush(handler, batchFlusher);
+        });
+        scheduler.shutdownNow();
+        timerWheel.shutdown();
+        RingBufferDispatcher ring = ringBuffer;
+        if (ring != null)
+            ring.shutdown(5, TimeUnit.SECONDS);
         asyncExecutor.shutdown();
         try {
             if (!asyncExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
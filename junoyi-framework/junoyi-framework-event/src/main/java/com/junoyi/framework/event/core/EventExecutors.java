@@ -0,0 +1,74 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.properties.EventBusProperties;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 事件总线异步执行器工厂
+ * 根据 junoyi.event.executor 配置创建对应模式的执行器
+ *
+ * @author Fan
+ */
+public final class EventExecutors {
+
+    private EventExecutors() {
+    }
+
+    /**
+     * 根据配置创建异步执行器
+     *
+     * @param config 执行器配置
+     * @param rejectionHandler 平台线程池队列写满时的背压处理器
+     * @return 异步执行器
+     */
+    public static ExecutorService create(EventBusProperties.Executor config, RejectedExecutionHandler rejectionHandler) {
+        return switch (config.getMode()) {
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(virtualThreadFactory());
+            case VIRTUAL_BOUNDED -> new BoundedVirtualThreadExecutor(virtualThreadFactory(), config.getMaxConcurrency());
+            default -> platformExecutor(config, rejectionHandler);
+        };
+    }
+
+    /**
+     * 创建平台线程池
+     * 使用自定义线程工厂创建带有特定名称和守护状态的线程，队列满时交给背压处理器
+     *
+     * @param config 执行器配置
+     * @param rejectionHandler 背压处理器
+     * @return 平台线程池
+     */
+    private static ExecutorService platformExecutor(EventBusProperties.Executor config, RejectedExecutionHandler rejectionHandler) {
+        AtomicInteger threadCounter = new AtomicInteger(0);
+        return new ThreadPoolExecutor(
+                config.getCorePoolSize(),
+                config.getMaxPoolSize(),
+                config.getKeepAliveSeconds(),
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(config.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r);
+                    thread.setName("EventBus-Async-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                rejectionHandler
+        );
+    }
+
+    /**
+     * 创建虚拟线程工厂
+     *
+     * @return 虚拟线程工厂
+     */
+    private static ThreadFactory virtualThreadFactory() {
+        return Thread.ofVirtual().name("EventBus-VThread-", 1).factory();
+    }
+}
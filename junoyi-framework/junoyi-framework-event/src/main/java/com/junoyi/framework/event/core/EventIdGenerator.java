@@ -0,0 +1,37 @@
+package com.junoyi.framework.event.core;
+
+/**
+ * 事件ID生成器
+ * 可通过注册该类型的 Bean 替换默认的生成策略
+ *
+ * @author Fan
+ */
+public interface EventIdGenerator {
+
+    /**
+     * 生成下一个事件ID
+     *
+     * @return 64 位事件ID
+     */
+    long nextId();
+
+    /**
+     * 从事件ID中还原事件创建时间
+     *
+     * @param id 事件ID
+     * @return 毫秒时间戳，ID不包含时间信息时返回 -1
+     */
+    default long timestampOf(long id) {
+        return -1;
+    }
+
+    /**
+     * 生成的ID是否包含创建时间，即 timestampOf 能否还原时间
+     * 返回 false 时事件创建时总是单独记录时间戳
+     *
+     * @return 能从ID还原时间时返回 true
+     */
+    default boolean isTimestampRecoverable() {
+        return false;
+    }
+}
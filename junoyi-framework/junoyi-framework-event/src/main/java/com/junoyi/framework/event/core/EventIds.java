@@ -0,0 +1,106 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.properties.EventBusProperties;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * 事件ID与时间戳策略持有者
+ * BaseEvent 创建时通过这里获取事件ID，并决定是否记录创建时间
+ *
+ * @author Fan
+ */
+public final class EventIds {
+
+    private static volatile EventIdGenerator generator = new SnowflakeEventIdGenerator(defaultNodeId());
+
+    /**
+     * 最近一个能从ID还原时间的生成器，切换为不含时间的生成器后仍用它还原切换前创建的事件时间
+     */
+    private static volatile EventIdGenerator timestampDecoder = generator;
+
+    /**
+     * 配置中是否开启时间戳记录
+     */
+    private static volatile boolean captureConfigured = false;
+
+    /**
+     * 实际是否记录时间戳：开启配置或当前生成器无法从ID还原时间时记录
+     */
+    private static volatile boolean captureTimestamp = false;
+
+    private EventIds() {
+    }
+
+    /**
+     * 按配置应用事件ID策略
+     *
+     * @param config 事件ID配置
+     */
+    public static void configure(EventBusProperties.Id config) {
+        captureConfigured = config.isCaptureTimestamp();
+        setGenerator(switch (config.getStrategy()) {
+            case RANDOM -> new RandomEventIdGenerator();
+            default -> new SnowflakeEventIdGenerator(config.getNodeId() >= 0 ? config.getNodeId() : defaultNodeId());
+        });
+    }
+
+    /**
+     * 替换事件ID生成器
+     *
+     * @param idGenerator 自定义的事件ID生成器
+     */
+    public static synchronized void setGenerator(EventIdGenerator idGenerator) {
+        boolean recoverable = idGenerator.isTimestampRecoverable();
+        // 先开启记录再切换生成器，新生成器创建的事件不会既无时间戳又无法还原
+        captureTimestamp = captureConfigured || !recoverable;
+        if (recoverable)
+            timestampDecoder = idGenerator;
+        generator = idGenerator;
+    }
+
+    /**
+     * 获取当前的事件ID生成器
+     *
+     * @return 事件ID生成器
+     */
+    public static EventIdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * 事件创建时是否单独记录时间戳
+     * 配置开启或当前生成器无法从ID还原时间（如 RANDOM 策略）时记录，
+     * 不记录时，事件时间从ID中还原（SNOWFLAKE 策略精度为毫秒）
+     *
+     * @return 记录时间戳返回 true
+     */
+    public static boolean isCaptureTimestamp() {
+        return captureTimestamp;
+    }
+
+    /**
+     * 从事件ID还原事件创建时间
+     * 先使用当前生成器，无法还原时使用最近一个能还原时间的生成器
+     *
+     * @param id 未单独记录时间戳的事件ID
+     * @return 毫秒时间戳
+     * @throws IllegalStateException ID无法还原时间时抛出（事件创建时的生成器已被替换且无法识别该ID）
+     */
+    public static long timestampOf(long id) {
+        long millis = generator.timestampOf(id);
+        if (millis < 0)
+            millis = timestampDecoder.timestampOf(id);
+        if (millis < 0)
+            throw new IllegalStateException("Cannot recover timestamp from event id " + Long.toUnsignedString(id));
+        return millis;
+    }
+
+    /**
+     * 根据进程标识（进程号@主机名）推导默认节点号
+     */
+    private static int defaultNodeId() {
+        String identity = ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & 0x7fffffff) % (SnowflakeEventIdGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.annotation.EventHandler;
+import com.junoyi.framework.event.processor.EventListenerIndexProcessor;
+import org.springframework.core.annotation.MergedAnnotation;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 事件监听器索引
+ * 读取编译期由 EventListenerIndexProcessor 生成的索引文件（可来自多个 jar），
+ * 按监听器类名提供其处理方法的描述，并记录哪些 jar 或类目录带有索引文件：
+ * 这些位置中的类不在索引中即可确定不是监听器，无需再做注解检查
+ *
+ * @author Fan
+ */
+public class EventListenerIndex {
+
+    private final Map<String, List<Entry>> listeners;
+
+    /**
+     * 带有索引文件的代码位置（jar 或类目录，已规范化）
+     */
+    private final Set<String> indexedLocations;
+
+    /**
+     * 保护域是否位于带有索引文件的代码位置，同一 jar 或类目录中的类共享同一个保护域
+     */
+    private final Map<ProtectionDomain, Boolean> coveredDomains = new ConcurrentHashMap<>();
+
+    private EventListenerIndex(Map<String, List<Entry>> listeners, Set<String> indexedLocations) {
+        this.listeners = listeners;
+        this.indexedLocations = indexedLocations;
+    }
+
+    /**
+     * 从类路径加载全部索引文件
+     *
+     * @param classLoader 类加载器
+     * @return 监听器索引，类路径中没有索引文件时返回 null
+     */
+    public static EventListenerIndex load(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> resources = classLoader.getResources(EventListenerIndexProcessor.INDEX_LOCATION);
+            if (!resources.hasMoreElements())
+                return null;
+            Map<String, List<Entry>> listeners = new HashMap<>();
+            Set<String> indexedLocations = new HashSet<>();
+            while (resources.hasMoreElements()) {
+                URL url = resources.nextElement();
+                String resource = url.toString();
+                if (resource.endsWith(EventListenerIndexProcessor.INDEX_LOCATION))
+                    indexedLocations.add(normalizeLocation(resource.substring(0,
+                            resource.length() - EventListenerIndexProcessor.INDEX_LOCATION.length())));
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank() || line.startsWith("#"))
+                            continue;
+                        String[] parts = line.split("\t", -1);
+                        listeners.computeIfAbsent(parts[0], k -> new ArrayList<>())
+                                .add(new Entry(parts[1], parts[2], parts[3], decodeAttributes(parts[4])));
+                    }
+                }
+            }
+            return new EventListenerIndex(listeners, indexedLocations);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to load event listener index", e);
+        }
+    }
+
+    /**
+     * 获取监听器类的处理方法描述
+     *
+     * @param listenerClassName 监听器类全限定名
+     * @return 处理方法描述列表，该类不是监听器时返回 null
+     */
+    public List<Entry> getEntries(String listenerClassName) {
+        return listeners.get(listenerClassName);
+    }
+
+    /**
+     * 判断类是否来自带有索引文件的 jar 或类目录
+     * 为 true 时该类不在索引中即不是监听器；为 false 时（来自未生成索引的依赖包、无法确定代码位置的类）需要做注解检查
+     *
+     * @param type 类
+     * @return 类所在的代码位置带有索引文件时返回 true
+     */
+    public boolean covers(Class<?> type) {
+        ProtectionDomain domain = type.getProtectionDomain();
+        if (domain == null)
+            return false;
+        return coveredDomains.computeIfAbsent(domain, d -> {
+            CodeSource codeSource = d.getCodeSource();
+            return codeSource != null && codeSource.getLocation() != null
+                    && indexedLocations.contains(normalizeLocation(codeSource.getLocation().toString()));
+        });
+    }
+
+    /**
+     * 将索引文件所在的根路径和类的代码位置统一为同一形式：
+     * 去掉 jar: 前缀、jar 内路径分隔符 !/ 和末尾的 /，
+     * 如 jar:file:/a.jar!/ 与 file:/a.jar、file:/classes/ 与 file:/classes 分别视为同一位置
+     */
+    private static String normalizeLocation(String location) {
+        String normalized = location.startsWith("jar:") ? location.substring(4) : location;
+        if (normalized.endsWith("!/"))
+            normalized = normalized.substring(0, normalized.length() - 2);
+        if (normalized.endsWith("/"))
+            normalized = normalized.substring(0, normalized.length() - 1);
+        return normalized;
+    }
+
+    /**
+     * 获取索引中的监听器数量
+     *
+     * @return 监听器数量
+     */
+    public int size() {
+        return listeners.size();
+    }
+
+    private static Map<String, String> decodeAttributes(String encoded) {
+        if (encoded.isEmpty())
+            return Collections.emptyMap();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            attributes.put(pair.substring(0, separator), URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+        }
+        return attributes;
+    }
+
+    /**
+     * 单个事件处理方法的索引描述
+     *
+     * @param method 方法名
+     * @param parameterType 方法参数类型（擦除后的二进制类名）
+     * @param eventType 处理的事件类型（批量处理器为列表元素类型）
+     * @param attributes 显式声明的 @EventHandler 属性，未声明的属性取注解默认值
+     */
+    public record Entry(String method, String parameterType, String eventType, Map<String, String> attributes) {
+
+        /**
+         * 按索引中的属性合成 @EventHandler 注解实例
+         *
+         * @return 注解实例
+         */
+        public EventHandler annotation() {
+            Map<String, Object> values = new HashMap<>();
+            attributes.forEach((name, text) -> values.put(name, convert(name, text)));
+            return MergedAnnotation.of(EventHandler.class, values).synthesize();
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object convert(String name, String text) {
+            Class<?> type;
+            try {
+                type = EventHandler.class.getMethod(name).getReturnType();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Unknown @EventHandler attribute in event listener index: " + name, e);
+            }
+            if (type.isEnum())
+                return Enum.valueOf((Class<? extends Enum>) type, text);
+            if (type == int.class)
+                return Integer.valueOf(text);
+            if (type == long.class)
+                return Long.valueOf(text);
+            if (type == boolean.class)
+                return Boolean.valueOf(text);
+            return text;
+        }
+    }
+}
@@ -28,6 +28,11 @@ public class EventListenerScanner implements BeanPostProcessor, Ordered, Applica
 
     private final EventBus eventBus;
 
+    /**
+     * 编译期生成的监听器索引，类路径中没有索引或已禁用时为 null
+     */
+    private final EventListenerIndex index;
+
     private final Set<String> registeredBeanNames = ConcurrentHashMap.newKeySet();
 
     private final List<String> registeredListenerClasses = Collections.synchronizedList(new ArrayList<>());
@@ -38,12 +43,26 @@ public class EventListenerScanner implements BeanPostProcessor, Ordered, Applica
      * @param eventBus 事件总线实例，用于注册事件监听器
      */
     public EventListenerScanner(EventBus eventBus) {
+        this(eventBus, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param eventBus 事件总线实例，用于注册事件监听器
+     * @param index 编译期生成的监听器索引，为 null 时逐个 Bean 检查注解；
+     *              不为 null 时只有来自未带索引文件的 jar 或类目录的 Bean 才检查注解
+     */
+    public EventListenerScanner(EventBus eventBus, EventListenerIndex index) {
         this.eventBus = eventBus;
+        this.index = index;
     }
 
     /**
      * Bean初始化后处理方法
      * 扫描带有@EventListener注解的Bean并注册为事件监听器
+     * 存在监听器索引时先按类名查找索引；索引中没有的Bean，若其类所在的 jar 或类目录带有索引文件则确定不是监听器，
+     * 只有来自未生成索引的依赖包等位置的Bean才做注解检查和方法扫描
      *
      * @param bean     Spring容器中的Bean实例
      * @param beanName Bean的名称
@@ -52,6 +71,9 @@ public class EventListenerScanner implements BeanPostProcessor, Ordered, Applica
      */
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (index != null && (registerIndexed(bean, beanName) || index.covers(bean.getClass())))
+            return bean;
+
         // 获取Bean的真实类型
         Class<?> userClass = ClassUtils.getUserClass(bean);
         // 检查Bean是否带有@EventListener注解
@@ -63,10 +85,40 @@ public class EventListenerScanner implements BeanPostProcessor, Ordered, Applica
         if (registeredBeanNames.add(beanName)) {
             eventBus.registerListener(bean);
             registeredListenerClasses.add(userClass.getName());
+            if (log.isDebugEnabled())
+                log.debug("[EventListenerRegister] Bean={} | Class={} | Source=Reflection", beanName, userClass.getName());
         }
         return bean;
     }
 
+    /**
+     * 按监听器索引注册Bean
+     *
+     * @param bean     Spring容器中的Bean实例
+     * @param beanName Bean的名称
+     * @return 索引中存在该Bean的类型时返回 true，否则返回 false，由调用方回退到反射扫描
+     */
+    private boolean registerIndexed(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        List<EventListenerIndex.Entry> entries = index.getEntries(beanClass.getName());
+        // CGLIB 代理类按其父类（真实类型）查找
+        if (entries == null && beanClass.getName().contains(ClassUtils.CGLIB_CLASS_SEPARATOR)) {
+            beanClass = beanClass.getSuperclass();
+            entries = index.getEntries(beanClass.getName());
+        }
+        if (entries == null)
+            return false;
+
+        // 避免重复注册同一个Bean
+        if (registeredBeanNames.add(beanName)) {
+            eventBus.registerListener(bean, beanClass, entries);
+            registeredListenerClasses.add(beanClass.getName());
+            if (log.isDebugEnabled())
+                log.debug("[EventListenerRegister] Bean={} | Class={} | Source=Index", beanName, beanClass.getName());
+        }
+        return true;
+    }
+
     /**
      * 应用上下文刷新事件回调方法
      * 当Spring应用上下文刷新完成时触发此方法，用于输出已注册的事件监听器信息
@@ -1,15 +1,24 @@
 package com.junoyi.framework.event.core;
 
 import com.junoyi.framework.event.annotation.EventHandler;
+import com.junoyi.framework.event.metrics.HandlerMetrics;
 import com.junoyi.framework.log.core.JunoYiLog;
 import com.junoyi.framework.log.core.JunoYiLogFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.expression.BeanResolver;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * 事件注册器
+ * 采用写时复制：注册/注销时在写锁内构建新的不可变快照并原子发布，
+ * 事件分发只读取当前快照，全程无锁，也不会出现 ConcurrentModificationException
  *
  * @author Fan
  */
@@ -17,7 +26,64 @@ public class EventRegistry {
 
     private final JunoYiLog log = JunoYiLogFactory.getLogger(EventRegistry.class);
 
-    private final Map<Class<? extends Event>, List<RegisteredHandler>> handlers = new ConcurrentHashMap<>();
+    private static final RegisteredHandler[] NO_HANDLERS = new RegisteredHandler[0];
+
+    private static final Comparator<RegisteredHandler> PRIORITY_ORDER =
+            Comparator.comparingInt((RegisteredHandler h) -> h.priority().getLevel()).reversed();
+
+    /**
+     * 当前发布的注册表快照
+     */
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap());
+
+    /**
+     * 写锁，仅用于串行化注册/注销，事件分发不会获取该锁
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * 执行条件中 @beanName 引用使用的 Bean 解析器
+     */
+    private volatile BeanResolver beanResolver;
+
+    /**
+     * 注册或注销处理器后的回调，在写锁外调用
+     */
+    private volatile Runnable changeListener;
+
+    /**
+     * 注册表快照
+     *
+     * @param handlers 按处理方法声明的事件类型存放的处理器（不可变，数组已按优先级排序）
+     * @param dispatchCache 分发表缓存：具体事件类型 -> 已合并父类/接口处理器并按优先级排好序的处理器数组，
+     *                      随快照一起替换，命中时只需一次 Map 读取
+     */
+    private record Snapshot(
+            Map<Class<? extends Event>, RegisteredHandler[]> handlers,
+            Map<Class<?>, RegisteredHandler[]> dispatchCache
+    ) {
+        Snapshot(Map<Class<? extends Event>, RegisteredHandler[]> handlers) {
+            this(handlers, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 设置注册或注销处理器后的回调（如同步处理器指标）
+     *
+     * @param listener 回调
+     */
+    public void onChange(Runnable listener) {
+        this.changeListener = listener;
+    }
+
+    /**
+     * 设置执行条件使用的 Bean 解析器，只影响之后注册的监听器
+     *
+     * @param beanResolver Bean 解析器
+     */
+    public void setBeanResolver(BeanResolver beanResolver) {
+        this.beanResolver = beanResolver;
+    }
 
     /**
      * 注册事件监听器
@@ -26,43 +92,296 @@ public class EventRegistry {
      * @param listener 事件监听器实例
      */
     public void registerListener(Object listener) {
+        // 先在锁外完成解析和调用器生成，校验失败时不会留下注册了一半的监听器
+        Map<Class<? extends Event>, List<RegisteredHandler>> parsed = new LinkedHashMap<>();
         for (Method method : listener.getClass().getDeclaredMethods()){
             if (!method.isAnnotationPresent(EventHandler.class))
                 continue;
 
-            Class<?>[] params = method.getParameterTypes();
-            if (params.length != 1 || !Event.class.isAssignableFrom(params[0])){
-                log.error("The event listening method must have only one event parameter and this parameter must be a subclass of the Event class");
-                throw new RuntimeException("The event listening method must have only one event parameter and this parameter must be a subclass of the Event class");
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            Class<? extends Event> eventType = resolveEventType(method, annotation.batch());
+            parsed.computeIfAbsent(eventType, k -> new ArrayList<>()).add(createHandler(listener, method, annotation));
+        }
+        register(listener, parsed);
+    }
+
+    /**
+     * 按编译期生成的监听器索引注册事件监听器
+     * 直接定位索引中记录的处理方法，不扫描监听器的全部方法，也不读取方法上的注解
+     *
+     * @param listener 事件监听器实例
+     * @param listenerClass 索引中记录的监听器类（监听器实例可能是它的代理子类）
+     * @param entries 监听器的处理方法索引
+     */
+    @SuppressWarnings("unchecked")
+    public void registerListener(Object listener, Class<?> listenerClass, List<EventListenerIndex.Entry> entries) {
+        Map<Class<? extends Event>, List<RegisteredHandler>> parsed = new LinkedHashMap<>();
+        ClassLoader classLoader = listenerClass.getClassLoader();
+        for (EventListenerIndex.Entry entry : entries) {
+            Method method;
+            Class<?> eventType;
+            try {
+                method = listenerClass.getDeclaredMethod(entry.method(), Class.forName(entry.parameterType(), false, classLoader));
+                eventType = Class.forName(entry.eventType(), false, classLoader);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Event listener index is out of date for " + listenerClass.getName()
+                        + "#" + entry.method() + ", please recompile the module", e);
             }
+            parsed.computeIfAbsent((Class<? extends Event>) eventType, k -> new ArrayList<>())
+                    .add(createHandler(listener, method, entry.annotation()));
+        }
+        register(listener, parsed);
+    }
 
-            @SuppressWarnings("unchecked")
-            Class<? extends Event> eventType = (Class<? extends Event>)  params[0];
+    /**
+     * 创建已注册的处理器
+     *
+     * @param listener 监听器实例
+     * @param method 处理方法
+     * @param annotation 处理方法上的 @EventHandler 注解
+     * @return 处理器
+     */
+    private RegisteredHandler createHandler(Object listener, Method method, EventHandler annotation) {
+        int modes = (annotation.batch() ? 1 : 0) + (annotation.debounce().isBlank() ? 0 : 1) + (annotation.throttle().isBlank() ? 0 : 1);
+        if (modes > 1)
+            throw new RuntimeException("The event listening method can only use one of batch, debounce and throttle: " + method);
+        return new RegisteredHandler(
+                listener,
+                method,
+                HandlerInvokerFactory.create(listener, method),
+                annotation.priority(),
+                annotation.async(),
+                annotation.batch()
+                        ? new BatchCollector(annotation.batchSize(), DurationStyle.detectAndParse(annotation.batchDelay()))
+                        : null,
+                annotation.maxConcurrency() > 0 ? new Semaphore(annotation.maxConcurrency()) : null,
+                annotation.timeout().isBlank() ? 0 : DurationStyle.detectAndParse(annotation.timeout()).toNanos(),
+                new HandlerMetrics(),
+                HandlerCondition.compile(annotation.condition(), beanResolver),
+                annotation.phase(),
+                createThrottle(annotation)
+        );
+    }
 
-            EventHandler annotation = method.getAnnotation(EventHandler.class);
+    /**
+     * 按注解创建防抖/节流器
+     *
+     * @param annotation 处理方法上的 @EventHandler 注解
+     * @return 防抖/节流器，未设置时返回 null
+     */
+    private HandlerThrottle createThrottle(EventHandler annotation) {
+        if (!annotation.debounce().isBlank())
+            return new HandlerThrottle(true, DurationStyle.detectAndParse(annotation.debounce()).toNanos());
+        if (!annotation.throttle().isBlank())
+            return new HandlerThrottle(false, DurationStyle.detectAndParse(annotation.throttle()).toNanos());
+        return null;
+    }
 
-            RegisteredHandler handler = new RegisteredHandler(
-                    listener,
-                    method,
-                    annotation.priority(),
-                    annotation.async()
-            );
+    /**
+     * 将解析好的处理器合并进注册表并发布新快照
+     *
+     * @param listener 监听器实例
+     * @param parsed 按声明事件类型分组的处理器
+     */
+    private void register(Object listener, Map<Class<? extends Event>, List<RegisteredHandler>> parsed) {
+        if (parsed.isEmpty())
+            return;
+
+        synchronized (writeLock) {
+            if (isRegistered(listener)) {
+                log.warn("Listener is already registered, skipped: {}", listener.getClass().getName());
+                return;
+            }
+            Map<Class<? extends Event>, RegisteredHandler[]> updated = new HashMap<>(snapshot.handlers());
+            parsed.forEach((eventType, added) -> {
+                List<RegisteredHandler> merged = new ArrayList<>(Arrays.asList(updated.getOrDefault(eventType, NO_HANDLERS)));
+                merged.addAll(added);
+                // 按照优先级排序（从高到低），同优先级保持注册顺序
+                merged.sort(PRIORITY_ORDER);
+                updated.put(eventType, merged.toArray(NO_HANDLERS));
+            });
+            publish(updated);
+        }
+        notifyChanged();
+    }
 
-            handlers.computeIfAbsent(eventType, k -> new ArrayList<>()).add(handler);
+    /**
+     * 注销监听器在指定事件类型上声明的处理器
+     *
+     * @param listener 已注册的监听器实例
+     * @param eventType 处理方法声明的事件类型
+     */
+    public void unregisterListener(Object listener, Class<? extends Event> eventType) {
+        removeHandlers(type -> type == eventType, listener);
+    }
 
-            // 按照优先级排序（从高到低）
-            handlers.get(eventType).sort(Comparator.comparingInt((RegisteredHandler h) -> h.priority().getLevel()).reversed());
+    /**
+     * 注销监听器的全部处理器
+     *
+     * @param listener 已注册的监听器实例
+     */
+    public void unregisterAll(Object listener) {
+        removeHandlers(type -> true, listener);
+    }
 
+    /**
+     * 判断监听器实例是否已注册
+     *
+     * @param listener 监听器实例
+     * @return 已注册返回true
+     */
+    public boolean isRegistered(Object listener) {
+        for (RegisteredHandler[] declared : snapshot.handlers().values()) {
+            for (RegisteredHandler handler : declared) {
+                if (handler.listener() == listener)
+                    return true;
+            }
         }
+        return false;
     }
 
     /**
      * 获取指定事件类型的所有已注册处理器
+     * 包含声明在该事件的父类和接口上的处理器，已按优先级从高到低排序
+     *
+     * @param eventType 具体事件类型
+     * @return 该事件类型对应的处理器数组（只读，调用方不得修改），不存在则返回空数组
+     */
+    public RegisteredHandler[] getHandlers(Class<? extends Event> eventType) {
+        Snapshot current = snapshot;
+        RegisteredHandler[] cached = current.dispatchCache().get(eventType);
+        if (cached != null)
+            return cached;
+        return current.dispatchCache().computeIfAbsent(eventType, type -> resolveHandlers(current.handlers(), type));
+    }
+
+    /**
+     * 从注册表中移除属于指定监听器实例的处理器
+     *
+     * @param typeFilter 需要处理的声明事件类型
+     * @param listener 监听器实例（按引用比较）
+     */
+    private void removeHandlers(Predicate<Class<? extends Event>> typeFilter, Object listener) {
+        synchronized (writeLock) {
+            Map<Class<? extends Event>, RegisteredHandler[]> updated = new HashMap<>(snapshot.handlers());
+            boolean changed = false;
+            for (Map.Entry<Class<? extends Event>, RegisteredHandler[]> entry : snapshot.handlers().entrySet()) {
+                if (!typeFilter.test(entry.getKey()))
+                    continue;
+                RegisteredHandler[] remaining = Arrays.stream(entry.getValue())
+                        .filter(handler -> handler.listener() != listener)
+                        .toArray(RegisteredHandler[]::new);
+                if (remaining.length == entry.getValue().length)
+                    continue;
+                changed = true;
+                if (remaining.length == 0)
+                    updated.remove(entry.getKey());
+                else
+                    updated.put(entry.getKey(), remaining);
+            }
+            if (!changed)
+                return;
+            publish(updated);
+        }
+        notifyChanged();
+    }
+
+    private void notifyChanged() {
+        Runnable listener = changeListener;
+        if (listener != null)
+            listener.run();
+    }
+
+    /**
+     * 发布新的注册表快照，同时丢弃旧的分发表缓存
+     * 正在分发中的事件继续使用旧快照，直到本次分发结束
      *
-     * @param eventType 事件类型
-     * @return 该事件类型对应的处理器列表，如果不存在则返回空列表
+     * @param handlers 新的处理器表
      */
-    public List<RegisteredHandler> getHandlers(Class<? extends Event> eventType) {
-        return handlers.getOrDefault(eventType, Collections.emptyList());
+    private void publish(Map<Class<? extends Event>, RegisteredHandler[]> handlers) {
+        snapshot = new Snapshot(Map.copyOf(handlers));
+    }
+
+    /**
+     * 解析并校验处理方法声明的事件类型
+     * 普通处理器的唯一参数须为 Event 子类；批量处理器的唯一参数须为 List&lt;Event 子类&gt;
+     *
+     * @param method 处理方法
+     * @param batch 是否为批量处理器
+     * @return 处理方法声明的事件类型
+     */
+    @SuppressWarnings("unchecked")
+    private Class<? extends Event> resolveEventType(Method method, boolean batch) {
+        Class<?>[] params = method.getParameterTypes();
+        if (batch) {
+            if (params.length == 1 && params[0] == List.class
+                    && method.getGenericParameterTypes()[0] instanceof ParameterizedType listType
+                    && listType.getActualTypeArguments()[0] instanceof Class<?> elementType
+                    && Event.class.isAssignableFrom(elementType))
+                return (Class<? extends Event>) elementType;
+            log.error("The batch event listening method must have only one List parameter and its element type must be a subclass of the Event class");
+            throw new RuntimeException("The batch event listening method must have only one List parameter and its element type must be a subclass of the Event class");
+        }
+        if (params.length != 1 || !Event.class.isAssignableFrom(params[0])){
+            log.error("The event listening method must have only one event parameter and this parameter must be a subclass of the Event class");
+            throw new RuntimeException("The event listening method must have only one event parameter and this parameter must be a subclass of the Event class");
+        }
+        return (Class<? extends Event>) params[0];
+    }
+
+    /**
+     * 遍历当前快照中的所有处理器（按声明事件类型分组）
+     *
+     * @param action 对每个处理器执行的操作
+     */
+    public void forEachHandler(Consumer<RegisteredHandler> action) {
+        for (RegisteredHandler[] declared : snapshot.handlers().values()) {
+            for (RegisteredHandler handler : declared)
+                action.accept(handler);
+        }
+    }
+
+    /**
+     * 解析事件类型的完整处理器列表
+     * 按 具体类 -> 父类 -> 接口 的顺序收集处理器，再按优先级稳定排序，
+     * 同优先级下子类型上的处理器先于父类型执行
+     *
+     * @param handlers 快照中的处理器表
+     * @param eventType 具体事件类型
+     * @return 合并后的处理器数组
+     */
+    private RegisteredHandler[] resolveHandlers(Map<Class<? extends Event>, RegisteredHandler[]> handlers, Class<?> eventType) {
+        List<RegisteredHandler> resolved = new ArrayList<>();
+        for (Class<?> type : collectEventTypes(eventType)) {
+            RegisteredHandler[] declared = handlers.get(type);
+            if (declared != null)
+                resolved.addAll(Arrays.asList(declared));
+        }
+        if (resolved.isEmpty())
+            return NO_HANDLERS;
+
+        resolved.sort(PRIORITY_ORDER);
+        return resolved.toArray(NO_HANDLERS);
+    }
+
+    /**
+     * 收集事件类型自身及其所有实现了 Event 的父类和接口（广度优先，去重）
+     *
+     * @param eventType 具体事件类型
+     * @return 有序的事件类型集合
+     */
+    private Set<Class<?>> collectEventTypes(Class<?> eventType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(eventType);
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            if (!Event.class.isAssignableFrom(type) || !types.add(type))
+                continue;
+            if (type.getSuperclass() != null)
+                queue.add(type.getSuperclass());
+            queue.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        return types;
     }
 }
@@ -0,0 +1,27 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.domain.SpilledEvent;
+
+/**
+ * 事件溢出存储
+ * 背压策略为 SPILL 时，队列写满后的事件写入此存储，由事件总线在线程池空闲时取回重新分发
+ *
+ * @author Fan
+ */
+public interface EventSpillStore {
+
+    /**
+     * 写入一个溢出事件
+     *
+     * @param spilled 溢出事件记录
+     * @return 写入成功返回 true
+     */
+    boolean push(SpilledEvent spilled);
+
+    /**
+     * 取出一个溢出事件（非阻塞）
+     *
+     * @return 溢出事件记录，存储为空时返回 null
+     */
+    SpilledEvent poll();
+}
@@ -0,0 +1,89 @@
+package com.junoyi.framework.event.core;
+
+import java.util.List;
+
+/**
+ * 提交到异步执行器的事件处理任务
+ * 携带处理器和事件信息，队列写满时背压策略据此决定丢弃、溢出或由调用方执行
+ *
+ * @author Fan
+ */
+final class EventTask implements Runnable {
+
+    private final RegisteredHandler handler;
+
+    private final Class<?> eventType;
+
+    private final List<? extends Event> events;
+
+    private final Runnable body;
+
+    /**
+     * 队列写满时是否允许由提交方线程执行或阻塞提交方线程
+     */
+    private final boolean callerRunsAllowed;
+
+    /**
+     * 构造函数
+     *
+     * @param handler 事件处理器
+     * @param eventType 事件类型（用于匹配背压策略）
+     * @param events 任务包含的事件
+     * @param body 任务执行体
+     */
+    EventTask(RegisteredHandler handler, Class<?> eventType, List<? extends Event> events, Runnable body) {
+        this(handler, eventType, events, body, true);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param handler 事件处理器
+     * @param eventType 事件类型（用于匹配背压策略）
+     * @param events 任务包含的事件
+     * @param body 任务执行体
+     * @param callerRunsAllowed 队列写满时是否允许由提交方线程执行或阻塞提交方线程，
+     *                          从时间轮等内部线程提交时为 false
+     */
+    EventTask(RegisteredHandler handler, Class<?> eventType, List<? extends Event> events, Runnable body,
+              boolean callerRunsAllowed) {
+        this.handler = handler;
+        this.eventType = eventType;
+        this.events = events;
+        this.body = body;
+        this.callerRunsAllowed = callerRunsAllowed;
+    }
+
+    @Override
+    public void run() {
+        body.run();
+    }
+
+    /**
+     * 任务被丢弃或溢出时调用，释放提交前获取的并发许可
+     */
+    void discard() {
+        if (handler.bulkhead() != null)
+            handler.bulkhead().release();
+    }
+
+    RegisteredHandler handler() {
+        return handler;
+    }
+
+    Class<?> eventType() {
+        return eventType;
+    }
+
+    List<? extends Event> events() {
+        return events;
+    }
+
+    /**
+     * 队列写满时是否允许由提交方线程执行或阻塞提交方线程
+     * 为 false 时 CALLER_RUNS、BLOCK、SAMPLE 策略改为溢出（未配置溢出存储时丢弃）
+     */
+    boolean isCallerRunsAllowed() {
+        return callerRunsAllowed;
+    }
+}
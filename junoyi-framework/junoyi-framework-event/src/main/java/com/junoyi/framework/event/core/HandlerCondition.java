@@ -0,0 +1,73 @@
+package com.junoyi.framework.event.core;
+
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * 事件处理器执行条件
+ * 在监听器注册时解析 @EventHandler(condition) 的 SpEL 表达式，以事件对象作为根对象求值；
+ * 表达式以 MIXED 模式编译为字节码，热点条件的判断开销接近直接调用字段/方法。
+ * 可通过 @beanName 引用容器中的 Bean，如 "@orderFilter.test(#root)"
+ *
+ * @author Fan
+ */
+public final class HandlerCondition {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, HandlerCondition.class.getClassLoader()));
+
+    private final String source;
+
+    private final Expression expression;
+
+    /**
+     * 求值上下文，只在创建时配置，求值过程中不写入变量，可被多个线程共享
+     */
+    private final EvaluationContext context;
+
+    private HandlerCondition(String source, Expression expression, EvaluationContext context) {
+        this.source = source;
+        this.expression = expression;
+        this.context = context;
+    }
+
+    /**
+     * 解析条件表达式
+     *
+     * @param source SpEL 表达式，为空时返回 null（不设条件）
+     * @param beanResolver Bean 解析器，可为 null
+     * @return 执行条件
+     */
+    public static HandlerCondition compile(String source, BeanResolver beanResolver) {
+        if (source == null || source.isBlank())
+            return null;
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        if (beanResolver != null)
+            context.setBeanResolver(beanResolver);
+        return new HandlerCondition(source, PARSER.parseExpression(source), context);
+    }
+
+    /**
+     * 判断事件是否满足条件
+     *
+     * @param event 事件对象
+     * @return 满足条件返回 true
+     */
+    public boolean test(Object event) {
+        return Boolean.TRUE.equals(expression.getValue(context, event, Boolean.class));
+    }
+
+    /**
+     * 获取条件表达式原文
+     *
+     * @return 表达式
+     */
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,20 @@
+package com.junoyi.framework.event.core;
+
+/**
+ * 事件处理器调用器
+ * 在监听器注册时为每个 @EventHandler 方法生成一次，已绑定监听器实例，
+ * 事件分发时直接调用，避免 Method.invoke 的反射开销
+ *
+ * @author Fan
+ */
+@FunctionalInterface
+public interface HandlerInvoker {
+
+    /**
+     * 调用事件处理方法
+     *
+     * @param argument 处理方法的参数：普通处理器为事件对象，批量处理器为事件列表
+     * @throws Throwable 事件处理方法抛出的异常（原样抛出，不做包装）
+     */
+    void invoke(Object argument) throws Throwable;
+}
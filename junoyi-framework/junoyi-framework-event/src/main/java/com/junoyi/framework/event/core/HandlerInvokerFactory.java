@@ -0,0 +1,84 @@
+package com.junoyi.framework.event.core;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 事件处理器调用器工厂
+ * 优先通过 LambdaMetafactory 为处理方法生成直接调用的实现类，
+ * 生成失败时退化为已绑定监听器实例的 MethodHandle 调用
+ *
+ * @author Fan
+ */
+public final class HandlerInvokerFactory {
+
+    /**
+     * HandlerInvoker.invoke 的方法签名
+     */
+    private static final MethodType INVOKE_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private HandlerInvokerFactory() {
+    }
+
+    /**
+     * 为指定监听器的事件处理方法创建调用器
+     *
+     * @param listener 监听器实例（静态方法时可为 null）
+     * @param method 事件处理方法，必须只有一个参数（事件对象或批量处理器的事件列表）
+     * @return 已绑定监听器实例的调用器
+     */
+    public static HandlerInvoker create(Object listener, Method method) {
+        MethodHandles.Lookup lookup;
+        MethodHandle target;
+        try {
+            lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            target = lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access event handler method: " + method, e);
+        }
+
+        try {
+            return generate(lookup, target, listener, method);
+        } catch (Throwable e) {
+            // 部分场景（如受限的类加载器）无法生成实现类，退化为 MethodHandle 调用
+            return bind(target, listener, method);
+        }
+    }
+
+    /**
+     * 通过 LambdaMetafactory 生成 HandlerInvoker 的实现类，调用点为单态接口调用
+     */
+    private static HandlerInvoker generate(MethodHandles.Lookup lookup, MethodHandle target,
+                                           Object listener, Method method) throws Throwable {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodType factoryType = isStatic
+                ? MethodType.methodType(HandlerInvoker.class)
+                : MethodType.methodType(HandlerInvoker.class, method.getDeclaringClass());
+
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "invoke",
+                factoryType,
+                INVOKE_TYPE,
+                target,
+                MethodType.methodType(void.class, method.getParameterTypes()[0])
+        );
+
+        MethodHandle factory = site.getTarget();
+        return isStatic ? (HandlerInvoker) factory.invoke() : (HandlerInvoker) factory.invoke(listener);
+    }
+
+    /**
+     * 将处理方法绑定到监听器实例，并适配为 (Object)void 签名
+     */
+    private static HandlerInvoker bind(MethodHandle target, Object listener, Method method) {
+        MethodHandle handle = Modifier.isStatic(method.getModifiers()) ? target : target.bindTo(listener);
+        MethodHandle exact = handle.asType(INVOKE_TYPE);
+        return argument -> exact.invokeExact(argument);
+    }
+}
@@ -0,0 +1,120 @@
+package com.junoyi.framework.event.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * 处理器防抖/节流器
+ * 每个设置了 debounce 或 throttle 的处理器持有一个，同一时刻最多只在时间轮中挂一个定时任务，
+ * 一轮突发事件无论多少个，都只保留最后一个事件并合并为一次处理器执行：
+ * <ul>
+ *     <li>防抖：事件停止到达 window 时长后，用最后一个事件执行一次</li>
+ *     <li>节流：窗口内第一个事件立即执行，窗口内后续事件只保留最后一个，在窗口结束时执行一次并开启下一个窗口</li>
+ * </ul>
+ *
+ * @author Fan
+ */
+public class HandlerThrottle {
+
+    private final boolean debounce;
+
+    private final long windowNanos;
+
+    /**
+     * 等待执行的最后一个事件
+     */
+    private final AtomicReference<Event> latest = new AtomicReference<>();
+
+    /**
+     * 时间轮中是否已挂有定时任务
+     */
+    private final AtomicBoolean armed = new AtomicBoolean();
+
+    /**
+     * 最后一个事件的到达时间（仅防抖使用）
+     */
+    private volatile long lastArrival;
+
+    /**
+     * 构造函数
+     *
+     * @param debounce true 为防抖，false 为节流
+     * @param windowNanos 防抖静默时长或节流窗口时长（纳秒）
+     */
+    public HandlerThrottle(boolean debounce, long windowNanos) {
+        this.debounce = debounce;
+        this.windowNanos = Math.max(1, windowNanos);
+    }
+
+    /**
+     * 提交一个事件
+     *
+     * @param event 事件对象
+     * @param handler 防抖/节流器所属的处理器
+     * @param wheel 共享的时间轮
+     * @param runner 合并后执行处理器的回调
+     */
+    public void submit(Event event, RegisteredHandler handler, HashedTimingWheel wheel,
+                       BiConsumer<RegisteredHandler, Event> runner) {
+        if (debounce) {
+            latest.set(event);
+            lastArrival = System.nanoTime();
+            if (armed.compareAndSet(false, true))
+                wheel.schedule(() -> fireDebounce(handler, wheel, runner), windowNanos, TimeUnit.NANOSECONDS);
+        } else if (armed.compareAndSet(false, true)) {
+            // 窗口内第一个事件立即执行
+            runner.accept(handler, event);
+            wheel.schedule(() -> fireThrottle(handler, wheel, runner), windowNanos, TimeUnit.NANOSECONDS);
+        } else {
+            latest.set(event);
+        }
+    }
+
+    private void fireDebounce(RegisteredHandler handler, HashedTimingWheel wheel, BiConsumer<RegisteredHandler, Event> runner) {
+        long quiet = System.nanoTime() - lastArrival;
+        if (quiet < windowNanos) {
+            // 期间又有事件到达，顺延到最后一个事件之后的静默期结束
+            wheel.schedule(() -> fireDebounce(handler, wheel, runner), windowNanos - quiet, TimeUnit.NANOSECONDS);
+            return;
+        }
+        // 先解除挂起再取事件，之后到达的事件会挂起新的定时任务
+        armed.set(false);
+        Event event = latest.getAndSet(null);
+        if (event != null)
+            runner.accept(handler, event);
+    }
+
+    private void fireThrottle(RegisteredHandler handler, HashedTimingWheel wheel, BiConsumer<RegisteredHandler, Event> runner) {
+        Event event = latest.getAndSet(null);
+        if (event != null) {
+            runner.accept(handler, event);
+            wheel.schedule(() -> fireThrottle(handler, wheel, runner), windowNanos, TimeUnit.NANOSECONDS);
+            return;
+        }
+        armed.set(false);
+        // 解除挂起前到达的事件未能开启新窗口，这里补交
+        Event late = latest.getAndSet(null);
+        if (late != null)
+            submit(late, handler, wheel, runner);
+    }
+
+    /**
+     * 是否为防抖
+     *
+     * @return true 为防抖，false 为节流
+     */
+    public boolean isDebounce() {
+        return debounce;
+    }
+
+    /**
+     * 获取防抖静默时长或节流窗口时长
+     *
+     * @return 时长（纳秒）
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+}
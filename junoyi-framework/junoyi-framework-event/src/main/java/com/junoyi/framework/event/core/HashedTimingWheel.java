@@ -0,0 +1,194 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 哈希时间轮
+ * 所有延迟任务共用一个工作线程：任务按到期刻度散列到环形槽位，工作线程每个刻度只处理一个槽位，
+ * 添加任务为 O(1) 入队，不随待执行任务数增长；精度为一个刻度，适合防抖、节流等对精度不敏感的大量定时任务。
+ * 任务在工作线程上执行，必须很快返回（通常只是把真正的工作提交到线程池）
+ *
+ * @author Fan
+ */
+public final class HashedTimingWheel {
+
+    private final JunoYiLog log = JunoYiLogFactory.getLogger(HashedTimingWheel.class);
+
+    private final String threadName;
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final List<Timeout>[] buckets;
+
+    /**
+     * 新添加、尚未放入槽位的任务
+     */
+    private final Queue<Timeout> incoming = new ConcurrentLinkedQueue<>();
+
+    private long startNanos;
+
+    private volatile Thread worker;
+
+    private volatile boolean stopped;
+
+    /**
+     * 构造函数，工作线程在第一次添加任务时启动
+     *
+     * @param threadName 工作线程名称
+     * @param tick 刻度时长
+     * @param wheelSize 槽位数（向上取整为 2 的幂）
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String threadName, Duration tick, int wheelSize) {
+        this.threadName = threadName;
+        this.tickNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), tick.toNanos());
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.buckets = new List[size];
+        for (int i = 0; i < size; i++)
+            buckets[i] = new ArrayList<>();
+    }
+
+    /**
+     * 添加延迟任务
+     *
+     * @param task 到期后执行的任务
+     * @param delay 延迟时长
+     * @param unit 时间单位
+     * @return 任务句柄，可在到期前撤销
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        if (stopped) {
+            timeout.cancel();
+            return timeout;
+        }
+        start();
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 判断当前线程是否为时间轮工作线程
+     * 在工作线程上执行的任务不能阻塞，也不能在该线程上直接运行耗时的处理器
+     *
+     * @return 当前线程为工作线程时返回 true
+     */
+    public boolean inWorkerThread() {
+        return Thread.currentThread() == worker;
+    }
+
+    private void start() {
+        if (worker != null)
+            return;
+        synchronized (this) {
+            if (worker != null)
+                return;
+            startNanos = System.nanoTime();
+            Thread thread = new Thread(this::run, threadName);
+            thread.setDaemon(true);
+            thread.start();
+            worker = thread;
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!stopped) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleep;
+            while ((sleep = deadline - System.nanoTime()) > 0 && !stopped)
+                LockSupport.parkNanos(this, sleep);
+            transferIncoming(tick);
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * 将新任务放入到期刻度对应的槽位，已过期的任务放入当前槽位
+     */
+    private void transferIncoming(long tick) {
+        Timeout timeout;
+        while ((timeout = incoming.poll()) != null) {
+            if (timeout.task == null)
+                continue;
+            long dueTick = Math.max(tick, (timeout.deadline - startNanos) / tickNanos);
+            timeout.rounds = (dueTick - tick) / buckets.length;
+            buckets[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * 执行槽位中本轮到期的任务，其余任务剩余轮数减一
+     */
+    private void expire(List<Timeout> bucket) {
+        int kept = 0;
+        for (int i = 0, size = bucket.size(); i < size; i++) {
+            Timeout timeout = bucket.get(i);
+            Runnable task = timeout.task;
+            if (task == null)
+                continue;
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                bucket.set(kept++, timeout);
+                continue;
+            }
+            timeout.task = null;
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.error("TimingWheelTaskError", "Timing wheel task failed", e);
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    /**
+     * 停止工作线程，未到期的任务不再执行
+     */
+    public void shutdown() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * 延迟任务句柄
+     */
+    public static final class Timeout {
+
+        /**
+         * 到期后执行的任务，撤销或执行后置为 null，释放任务引用的对象
+         */
+        private volatile Runnable task;
+
+        private final long deadline;
+
+        private long rounds;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 撤销尚未执行的任务，已撤销的任务在所在槽位下一次到期时移除
+         */
+        public void cancel() {
+            task = null;
+        }
+    }
+}
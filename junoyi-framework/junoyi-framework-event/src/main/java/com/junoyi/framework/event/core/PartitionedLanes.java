@@ -0,0 +1,179 @@
+package com.junoyi.framework.event.core;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 按分区键划分的有序执行通道
+ * 分区键经哈希映射到固定数量的通道上，每个通道同一时刻最多只有一个消费者在底层执行器中运行，
+ * 因此同一分区键的任务严格按提交顺序执行，不同通道之间并行执行。
+ * 通道已满或执行器拒绝调度消费者时，未能进入通道执行的任务按提交顺序交给拒绝回调，由调用方按背压策略处理
+ *
+ * @author Fan
+ */
+public class PartitionedLanes {
+
+    /**
+     * 单个通道一次连续执行的最大任务数，超过后让出线程并重新调度，避免长期霸占执行器线程
+     */
+    private static final int MAX_BATCH = 256;
+
+    private final Lane[] lanes;
+
+    private final int laneCapacity;
+
+    /**
+     * 拒绝回调，接收被拒绝的任务和本次调度使用的执行器
+     */
+    private final BiConsumer<Runnable, Executor> rejectedHandler;
+
+    /**
+     * 构造函数
+     *
+     * @param laneCount 通道数量
+     * @param laneCapacity 单个通道最多等待执行的任务数
+     * @param rejectedHandler 拒绝回调，接收被拒绝的任务和本次调度使用的执行器
+     */
+    public PartitionedLanes(int laneCount, int laneCapacity, BiConsumer<Runnable, Executor> rejectedHandler) {
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        this.laneCapacity = Math.max(1, laneCapacity);
+        this.rejectedHandler = rejectedHandler;
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * 将任务提交到分区键对应的通道
+     * 通道已满时任务直接交给拒绝回调；执行器拒绝调度消费者时，通道中等待的全部任务按顺序交给拒绝回调
+     *
+     * @param partitionKey 分区键
+     * @param task 任务
+     * @param executor 通道消费者运行所在的执行器
+     */
+    public void execute(Object partitionKey, Runnable task, Executor executor) {
+        lanes[indexFor(partitionKey)].submit(task, executor);
+    }
+
+    /**
+     * 获取通道数量
+     *
+     * @return 通道数量
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 获取所有通道中等待执行的任务总数
+     *
+     * @return 等待执行的任务数
+     */
+    public int getPendingCount() {
+        int pending = 0;
+        for (Lane lane : lanes) {
+            pending += lane.size.get();
+        }
+        return pending;
+    }
+
+    /**
+     * 计算分区键对应的通道下标（扰动高位后取模）
+     */
+    private int indexFor(Object partitionKey) {
+        int h = partitionKey.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, lanes.length);
+    }
+
+    /**
+     * 单消费者通道
+     */
+    private final class Lane {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        /**
+         * 等待执行的任务数，ConcurrentLinkedQueue.size 需要遍历队列
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * 当前是否已有消费者被调度（或由提交方线程代为处理被拒绝的任务）
+         */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * 加入任务并在通道空闲时调度消费者
+         */
+        void submit(Runnable task, Executor executor) {
+            if (size.get() >= laneCapacity) {
+                rejectedHandler.accept(task, executor);
+                return;
+            }
+            size.incrementAndGet();
+            tasks.add(task);
+            while (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(() -> drain(executor));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    rejectPending(executor);
+                }
+                // 释放调度标记后再次检查，避免与其他提交方竞争时遗漏任务
+                if (tasks.isEmpty())
+                    return;
+            }
+        }
+
+        /**
+         * 执行器拒绝调度消费者时，当前线程持有调度标记，按顺序将通道中等待的任务交给拒绝回调，
+         * 包括与本次提交竞争、未能调度消费者的其他提交方的任务
+         */
+        private void rejectPending(Executor executor) {
+            try {
+                Runnable pending;
+                while ((pending = poll()) != null) {
+                    rejectedHandler.accept(pending, executor);
+                }
+            } finally {
+                scheduled.set(false);
+            }
+        }
+
+        private void drain(Executor executor) {
+            while (true) {
+                try {
+                    Runnable task;
+                    int executed = 0;
+                    while (executed++ < MAX_BATCH && (task = poll()) != null) {
+                        task.run();
+                    }
+                } finally {
+                    scheduled.set(false);
+                }
+                // 释放调度标记后再次检查，避免与提交方竞争时遗漏任务
+                if (tasks.isEmpty() || !scheduled.compareAndSet(false, true))
+                    return;
+                try {
+                    executor.execute(() -> drain(executor));
+                    return;
+                } catch (RejectedExecutionException e) {
+                    // 执行器队列已满或已关闭，当前已在执行器线程上，继续处理剩余任务
+                }
+            }
+        }
+
+        private Runnable poll() {
+            Runnable task = tasks.poll();
+            if (task != null)
+                size.decrementAndGet();
+            return task;
+        }
+    }
+}
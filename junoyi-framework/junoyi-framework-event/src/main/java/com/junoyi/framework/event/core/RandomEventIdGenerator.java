@@ -0,0 +1,17 @@
+package com.junoyi.framework.event.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机事件ID生成器
+ * 使用 ThreadLocalRandom 生成 64 位随机ID，不经过 SecureRandom，也没有线程间竞争
+ *
+ * @author Fan
+ */
+public class RandomEventIdGenerator implements EventIdGenerator {
+
+    @Override
+    public long nextId() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+}
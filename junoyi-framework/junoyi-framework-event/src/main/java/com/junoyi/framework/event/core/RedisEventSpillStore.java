@@ -0,0 +1,34 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.domain.SpilledEvent;
+import com.junoyi.framework.redis.utils.QueueUtils;
+
+/**
+ * 基于 Redis 队列的事件溢出存储
+ * 事件通过 Redisson 的 Jackson 编解码器序列化，溢出的事件类型需能被 Jackson 反序列化
+ *
+ * @author Fan
+ */
+public class RedisEventSpillStore implements EventSpillStore {
+
+    private final String queueName;
+
+    /**
+     * 构造函数
+     *
+     * @param queueName Redis 队列名称
+     */
+    public RedisEventSpillStore(String queueName) {
+        this.queueName = queueName;
+    }
+
+    @Override
+    public boolean push(SpilledEvent spilled) {
+        return QueueUtils.addQueueObject(queueName, spilled);
+    }
+
+    @Override
+    public SpilledEvent poll() {
+        return QueueUtils.getQueueObject(queueName);
+    }
+}
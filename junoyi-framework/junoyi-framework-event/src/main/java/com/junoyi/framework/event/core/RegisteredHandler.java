@@ -1,8 +1,11 @@
 package com.junoyi.framework.event.core;
 
+import com.junoyi.framework.event.enums.EventPhase;
 import com.junoyi.framework.event.enums.EventPriority;
+import com.junoyi.framework.event.metrics.HandlerMetrics;
 
 import java.lang.reflect.Method;
+import java.util.concurrent.Semaphore;
 
 /**
  * 注册的事件处理器记录类
@@ -12,14 +15,50 @@ import java.lang.reflect.Method;
  *
  * @param listener 监听器实例，用于接收和处理事件
  * @param method 处理事件的方法，该方法将被调用以响应事件
+ * @param invoker 注册时生成的处理方法调用器，事件分发时通过它调用处理方法
  * @param priority 事件处理优先级，决定监听器在事件处理链中的执行顺序
  * @param async 是否异步执行，true表示异步执行，false表示同步执行
+ * @param batch 批量收集器，仅批量处理器非 null
+ * @param bulkhead 并发上限信号量（隔离舱），不限制时为 null
+ * @param timeoutNanos 执行截止时间（纳秒），0 表示不限制
+ * @param metrics 处理器运行指标
+ * @param condition 执行条件，无条件时为 null
+ * @param phase 执行阶段，事务阶段的处理器在事务中按阶段整批执行
+ * @param throttle 防抖/节流器，未设置时为 null
  *
  * @author Fan
  */
 public record RegisteredHandler (
         Object listener,
         Method method,
+        HandlerInvoker invoker,
         EventPriority priority,
-        boolean async
-) {}
+        boolean async,
+        BatchCollector batch,
+        Semaphore bulkhead,
+        long timeoutNanos,
+        HandlerMetrics metrics,
+        HandlerCondition condition,
+        EventPhase phase,
+        HandlerThrottle throttle
+) {
+
+    /**
+     * 获取处理器的可读名称（监听器类名#方法名）
+     *
+     * @return 处理器名称
+     */
+    public String name() {
+        return method.getDeclaringClass().getSimpleName() + "#" + method.getName();
+    }
+
+    /**
+     * 获取处理器的唯一名称（监听器全限定类名#方法名(参数类型)），用作指标标签
+     *
+     * @return 处理器唯一名称
+     */
+    public String qualifiedName() {
+        return method.getDeclaringClass().getName() + "#" + method.getName()
+                + "(" + method.getParameterTypes()[0].getName() + ")";
+    }
+}
@@ -0,0 +1,254 @@
+package com.junoyi.framework.event.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+
+/**
+ * 环形缓冲区异步分发引擎（Disruptor 风格）
+ * 每个消费者线程独占一个预分配、容量为 2 的幂的环形缓冲区（多生产者单消费者）：
+ * 发布方通过原子递增认领序号，写入事件引用后按轮次标记槽位可用；
+ * 消费者以序号屏障找出连续可用的最大序号后批量处理，不为每个任务分配 FutureTask 或队列节点。
+ * 缓冲区写满时发布方自旋/挂起等待消费者腾出空间，形成天然背压；
+ * 消费者线程向自己已写满的缓冲区发布、或引擎已关闭时不再等待，发布失败由调用方改用异步执行器
+ *
+ * @author Fan
+ */
+public class RingBufferDispatcher {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final Ring[] rings;
+
+    private final BiConsumer<RegisteredHandler, Event> sink;
+
+    /**
+     * 构造函数，创建缓冲区并启动消费者线程
+     *
+     * @param bufferSize 每个缓冲区的容量（向上取整为 2 的幂）
+     * @param consumers 消费者线程数
+     * @param sink 消费者执行处理器的回调
+     */
+    public RingBufferDispatcher(int bufferSize, int consumers, BiConsumer<RegisteredHandler, Event> sink) {
+        this.sink = sink;
+        int size = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        this.rings = new Ring[Math.max(1, consumers)];
+        for (int i = 0; i < rings.length; i++) {
+            rings[i] = new Ring(size);
+            Thread consumer = new Thread(rings[i]::consume, "EventBus-Ring-" + (i + 1));
+            consumer.setDaemon(true);
+            rings[i].consumer = consumer;
+            consumer.start();
+        }
+    }
+
+    /**
+     * 发布一个待执行的处理器
+     * 同一发布线程固定写入同一个缓冲区，降低多个发布方之间的序号竞争
+     *
+     * @param handler 事件处理器
+     * @param event 事件对象
+     * @return 已发布返回 true；引擎已关闭，或消费者线程（处理器内再次触发事件）遇到自己的缓冲区已满时返回 false
+     */
+    public boolean publish(RegisteredHandler handler, Event event) {
+        int index = (int) (Thread.currentThread().threadId() % rings.length);
+        return rings[index].publish(handler, event);
+    }
+
+    /**
+     * 获取所有缓冲区中已发布但尚未处理的数量
+     *
+     * @return 积压数量
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Ring ring : rings) {
+            backlog += ring.cursor.get() - ring.consumed.get();
+        }
+        return backlog;
+    }
+
+    /**
+     * 获取缓冲区总容量
+     *
+     * @return 总容量
+     */
+    public long getCapacity() {
+        return (long) rings.length * rings[0].size;
+    }
+
+    /**
+     * 停止消费者线程，此后的发布均返回 false
+     * 消费者退出前会处理完已发布和正在发布的事件，超时后直接返回
+     *
+     * @param timeout 等待时间
+     * @param unit 时间单位
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        for (Ring ring : rings) {
+            ring.running = false;
+            LockSupport.unpark(ring.consumer);
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Ring ring : rings) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0)
+                return;
+            try {
+                ring.consumer.join(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 多生产者单消费者环形缓冲区
+     */
+    private final class Ring {
+
+        private final int size;
+
+        private final int mask;
+
+        private final int indexShift;
+
+        private final RegisteredHandler[] handlers;
+
+        private final Event[] events;
+
+        /**
+         * 槽位可用标记，存放写入该槽位时的轮次（序号 >>> indexShift）
+         */
+        private final int[] available;
+
+        /**
+         * 已被认领的最大序号
+         */
+        private final AtomicLong cursor = new AtomicLong(-1);
+
+        /**
+         * 消费者已处理完成的最大序号（发布方据此判断是否有空闲槽位）
+         */
+        private final AtomicLong consumed = new AtomicLong(-1);
+
+        private volatile boolean running = true;
+
+        /**
+         * 正在发布的发布方数量，关闭后消费者等它归零再退出，避免遗漏关闭前已通过检查的发布
+         */
+        private final AtomicInteger publishers = new AtomicInteger();
+
+        private volatile boolean waiting;
+
+        private Thread consumer;
+
+        Ring(int size) {
+            this.size = size;
+            this.mask = size - 1;
+            this.indexShift = Integer.numberOfTrailingZeros(size);
+            this.handlers = new RegisteredHandler[size];
+            this.events = new Event[size];
+            this.available = new int[size];
+            Arrays.fill(available, -1);
+        }
+
+        boolean publish(RegisteredHandler handler, Event event) {
+            publishers.incrementAndGet();
+            try {
+                if (!running)
+                    return false;
+                // 有空闲槽位时才认领序号，已认领的序号必须写入，否则消费者会停在该槽位
+                long sequence;
+                int spins = 0;
+                while (true) {
+                    long current = cursor.get();
+                    sequence = current + 1;
+                    if (sequence - size > consumed.get()) {
+                        // 消费者在处理器中向自己的缓冲区发布时等待只会死锁；关闭后消费者也不再腾出空间
+                        if (!running || Thread.currentThread() == consumer)
+                            return false;
+                        if (++spins < 100)
+                            Thread.onSpinWait();
+                        else
+                            LockSupport.parkNanos(1_000L);
+                    } else if (cursor.compareAndSet(current, sequence)) {
+                        break;
+                    }
+                }
+                int index = (int) sequence & mask;
+                handlers[index] = handler;
+                events[index] = event;
+                AVAILABLE.setRelease(available, index, (int) (sequence >>> indexShift));
+                if (waiting)
+                    LockSupport.unpark(consumer);
+                return true;
+            } finally {
+                publishers.decrementAndGet();
+            }
+        }
+
+        void consume() {
+            long next = 0;
+            int idle = 0;
+            while (true) {
+                long highest = highestPublished(next, cursor.get());
+                if (highest < next) {
+                    // 先读 running 再读发布方数量：发布方计数在关闭之后才增加时，它必然看到 running 为 false
+                    if (!running && publishers.get() == 0 && cursor.get() < next)
+                        return;
+                    idle = idle(idle, next);
+                    continue;
+                }
+                idle = 0;
+                // 批量处理 [next, highest] 区间内的所有槽位
+                for (long sequence = next; sequence <= highest; sequence++) {
+                    int index = (int) sequence & mask;
+                    RegisteredHandler handler = handlers[index];
+                    Event event = events[index];
+                    handlers[index] = null;
+                    events[index] = null;
+                    sink.accept(handler, event);
+                }
+                consumed.set(highest);
+                next = highest + 1;
+            }
+        }
+
+        /**
+         * 序号屏障：从 next 开始查找连续已发布的最大序号
+         */
+        private long highestPublished(long next, long claimed) {
+            for (long sequence = next; sequence <= claimed; sequence++) {
+                int index = (int) sequence & mask;
+                if ((int) AVAILABLE.getAcquire(available, index) != (int) (sequence >>> indexShift))
+                    return sequence - 1;
+            }
+            return claimed;
+        }
+
+        /**
+         * 空闲等待策略：先自旋，再让出 CPU，最后挂起等待发布方唤醒
+         */
+        private int idle(int idle, long next) {
+            if (idle < 100) {
+                Thread.onSpinWait();
+            } else if (idle < 200) {
+                Thread.yield();
+            } else {
+                waiting = true;
+                // 设置等待标记后再检查一次，避免错过发布方的唤醒
+                if (cursor.get() < next && running)
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1));
+                waiting = false;
+            }
+            return idle + 1;
+        }
+    }
+}
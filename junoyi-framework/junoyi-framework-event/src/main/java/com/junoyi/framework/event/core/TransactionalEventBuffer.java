@@ -0,0 +1,129 @@
+package com.junoyi.framework.event.core;
+
+import com.junoyi.framework.event.enums.EventPhase;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 事务事件缓冲区
+ * 每个事务一个，作为事务资源绑定到当前线程，并注册为事务同步回调：
+ * 事务内触发的事件按处理器累积，到处理器声明的事务阶段时，每个处理器的全部事件整批交出
+ * 仅在引入 spring-tx 时加载
+ *
+ * @author Fan
+ */
+final class TransactionalEventBuffer implements TransactionSynchronization {
+
+    /**
+     * 事务资源键，同一事务内的事件共用一个缓冲区
+     */
+    private final Object resourceKey;
+
+    private final BiConsumer<RegisteredHandler, List<Event>> flusher;
+
+    /**
+     * 按首次缓冲顺序排列的处理器
+     */
+    private final List<RegisteredHandler> order = new ArrayList<>();
+
+    private final Map<RegisteredHandler, List<Event>> pending = new IdentityHashMap<>();
+
+    /**
+     * 事务是否已进入完成阶段，此后触发的事件不再缓冲
+     */
+    private boolean completing;
+
+    private TransactionalEventBuffer(Object resourceKey, BiConsumer<RegisteredHandler, List<Event>> flusher) {
+        this.resourceKey = resourceKey;
+        this.flusher = flusher;
+    }
+
+    /**
+     * 将事件缓冲到当前事务
+     *
+     * @param resourceKey 事务资源键
+     * @param handler 事务阶段处理器
+     * @param event 事件对象
+     * @param flusher 事务到达处理器阶段时整批事件的分发回调
+     * @return 是否已缓冲；当前线程没有活动事务或事务已在完成阶段时返回 false，调用方应立即执行
+     */
+    static boolean defer(Object resourceKey, RegisteredHandler handler, Event event,
+                         BiConsumer<RegisteredHandler, List<Event>> flusher) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return false;
+        TransactionalEventBuffer buffer = (TransactionalEventBuffer) TransactionSynchronizationManager.getResource(resourceKey);
+        if (buffer == null) {
+            buffer = new TransactionalEventBuffer(resourceKey, flusher);
+            TransactionSynchronizationManager.bindResource(resourceKey, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        } else if (buffer.completing) {
+            return false;
+        }
+        buffer.add(handler, event);
+        return true;
+    }
+
+    private void add(RegisteredHandler handler, Event event) {
+        List<Event> events = pending.get(handler);
+        if (events == null) {
+            events = new ArrayList<>();
+            pending.put(handler, events);
+            order.add(handler);
+        }
+        events.add(event);
+    }
+
+    @Override
+    public void suspend() {
+        // 内层新事务期间不能复用外层事务的缓冲区
+        TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+    }
+
+    @Override
+    public void resume() {
+        TransactionSynchronizationManager.bindResource(resourceKey, this);
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+        flush(EventPhase.BEFORE_COMMIT, null);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        completing = true;
+        try {
+            if (status == STATUS_COMMITTED)
+                flush(EventPhase.AFTER_COMMIT, EventPhase.AFTER_COMPLETION);
+            else if (status == STATUS_ROLLED_BACK)
+                flush(EventPhase.AFTER_ROLLBACK, EventPhase.AFTER_COMPLETION);
+            else
+                flush(EventPhase.AFTER_COMPLETION, null);
+        } finally {
+            order.clear();
+            pending.clear();
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+        }
+    }
+
+    /**
+     * 取出指定阶段处理器的全部事件并逐个处理器整批交出
+     * 交出前先从缓冲区移除，处理器在交出过程中触发的同阶段事件会在下一轮交出
+     */
+    private void flush(EventPhase phase, EventPhase alsoPhase) {
+        while (true) {
+            List<RegisteredHandler> ready = new ArrayList<>();
+            order.removeIf(handler -> (handler.phase() == phase || handler.phase() == alsoPhase) && ready.add(handler));
+            if (ready.isEmpty())
+                return;
+            for (RegisteredHandler handler : ready)
+                flusher.accept(handler, pending.remove(handler));
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.junoyi.framework.event.domain;
 
 import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.core.EventIds;
 
 import java.time.Instant;
-import java.util.UUID;
 
 
 /**
@@ -23,12 +23,18 @@ public class BaseEvent implements Event {
     /**
      * 唯一事件ID, 便于日志追踪
      */
-    private final String eventId = UUID.randomUUID().toString();
+    private final long id = EventIds.getGenerator().nextId();
 
     /**
-     * 事件触发时间
+     * 事件触发时间（毫秒），未记录时为 -1，读取时从ID中还原
+     * 事件ID生成器无法还原时间时总是记录，见 {@link EventIds#isCaptureTimestamp()}
      */
-    private final Instant timestamp = Instant.now();
+    private final long timestampMillis = EventIds.isCaptureTimestamp() ? System.currentTimeMillis() : -1;
+
+    /**
+     * 事件ID的字符串形式，首次读取时生成
+     */
+    private transient String eventId;
 
     /**
      * 事件来源
@@ -82,18 +88,31 @@ public class BaseEvent implements Event {
 
     /**
      * 获取事件唯一标识ID
+     * @return 返回事件ID
+     */
+    public long getId(){
+        return id;
+    }
+
+    /**
+     * 获取事件唯一标识ID的字符串形式
      * @return 返回事件ID字符串
      */
     public String getEventId(){
-        return eventId;
+        String value = eventId;
+        if (value == null)
+            eventId = value = Long.toUnsignedString(id);
+        return value;
     }
 
     /**
      * 获取事件触发时间戳
-     * @return 返回事件发生的时间Instant对象
+     * 未单独记录时间戳时从事件ID中还原
+     * @return 返回事件发生的时间Instant对象，不为 null
+     * @throws IllegalStateException 事件ID无法还原时间时抛出（仅在替换为自定义生成器后读取替换前的事件时可能发生）
      */
     public Instant getTimestamp(){
-        return timestamp;
+        return Instant.ofEpochMilli(timestampMillis >= 0 ? timestampMillis : EventIds.timestampOf(id));
     }
 
     /**
@@ -108,8 +127,8 @@ public class BaseEvent implements Event {
     public String toString() {
         return "BaseEvent{" +
                 "eventName='" + eventName + '\'' +
-                ", eventId='" + eventId + '\'' +
-                ", timestamp=" + timestamp +
+                ", eventId='" + getEventId() + '\'' +
+                ", timestamp=" + getTimestamp() +
                 ", source=" + source +
                 '}';
     }
@@ -0,0 +1,116 @@
+package com.junoyi.framework.event.domain;
+
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.core.RegisteredHandler;
+
+import java.util.List;
+
+/**
+ * 事件异步执行结果
+ * 由 EventBus.callAsyncEvent 返回的 CompletableFuture 在处理器链结束后给出，
+ * 汇总了执行成功的处理器数量、各处理器的失败信息以及是否超时
+ *
+ * @author Fan
+ */
+public class EventResult {
+
+    /**
+     * 触发的事件对象
+     */
+    private final Event event;
+
+    /**
+     * 匹配到的处理器数量
+     */
+    private final int handlerCount;
+
+    /**
+     * 执行成功的处理器数量
+     */
+    private final int completedCount;
+
+    /**
+     * 执行失败的处理器及其异常
+     */
+    private final List<HandlerFailure> failures;
+
+    /**
+     * 处理器链是否因超时而中止
+     */
+    private final boolean timedOut;
+
+    /**
+     * 单个处理器的执行失败信息
+     *
+     * @param handler 执行失败的处理器
+     * @param cause 处理器抛出的异常
+     */
+    public record HandlerFailure(RegisteredHandler handler, Throwable cause) {}
+
+    public EventResult(Event event, int handlerCount, int completedCount, List<HandlerFailure> failures, boolean timedOut) {
+        this.event = event;
+        this.handlerCount = handlerCount;
+        this.completedCount = completedCount;
+        this.failures = List.copyOf(failures);
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * 获取触发的事件对象
+     * @return 事件对象
+     */
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * 获取匹配到的处理器数量
+     * @return 处理器数量
+     */
+    public int getHandlerCount() {
+        return handlerCount;
+    }
+
+    /**
+     * 获取执行成功的处理器数量
+     * @return 执行成功的处理器数量
+     */
+    public int getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * 获取执行失败的处理器列表
+     * @return 不可变的失败信息列表
+     */
+    public List<HandlerFailure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * 处理器链是否超时
+     * @return 超时返回true
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * 是否所有处理器都执行成功
+     * @return 全部成功返回true
+     */
+    public boolean isSuccess() {
+        return !timedOut && failures.isEmpty() && completedCount == handlerCount;
+    }
+
+    @Override
+    public String toString() {
+        return "EventResult{" +
+                "event=" + event.getClass().getSimpleName() +
+                ", handlerCount=" + handlerCount +
+                ", completedCount=" + completedCount +
+                ", failures=" + failures.size() +
+                ", timedOut=" + timedOut +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.junoyi.framework.event.domain;
+
+import com.junoyi.framework.event.core.Event;
+
+/**
+ * 溢出事件记录
+ * 背压策略为 SPILL 时，写入溢出队列的单个处理器待执行事件
+ *
+ * @param handler 处理器标识（监听器全限定类名#方法名）
+ * @param event 事件对象
+ *
+ * @author Fan
+ */
+public record SpilledEvent(String handler, Event event) {
+}
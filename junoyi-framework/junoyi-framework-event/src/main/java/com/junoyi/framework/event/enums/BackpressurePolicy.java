@@ -0,0 +1,39 @@
+package com.junoyi.framework.event.enums;
+
+/**
+ * 异步队列背压策略枚举
+ * 平台线程池队列写满后，新提交的异步处理器任务按该策略处理
+ *
+ * @author Fan
+ */
+public enum BackpressurePolicy {
+    /**
+     * 由触发事件的调用方线程直接执行（原有行为，会增加请求延迟）
+     */
+    CALLER_RUNS,
+
+    /**
+     * 阻塞调用方等待队列空位，超过等待时间后丢弃
+     */
+    BLOCK,
+
+    /**
+     * 丢弃本次提交的任务
+     */
+    DROP_NEWEST,
+
+    /**
+     * 丢弃队列中最早的事件任务，为本次提交腾出空位
+     */
+    DROP_OLDEST,
+
+    /**
+     * 按采样比例保留部分任务（由调用方线程执行），其余丢弃
+     */
+    SAMPLE,
+
+    /**
+     * 将事件写入 Redis 溢出队列，待线程池空闲后取回重新分发
+     */
+    SPILL
+}
@@ -0,0 +1,18 @@
+package com.junoyi.framework.event.enums;
+
+/**
+ * 事件ID生成策略枚举
+ *
+ * @author Fan
+ */
+public enum EventIdStrategy {
+    /**
+     * Snowflake 风格的 64 位单调递增ID（毫秒时间戳 + 节点号 + 序列号），可从ID中还原事件时间
+     */
+    SNOWFLAKE,
+
+    /**
+     * 64 位随机ID（ThreadLocalRandom，无锁），不包含时间信息
+     */
+    RANDOM
+}
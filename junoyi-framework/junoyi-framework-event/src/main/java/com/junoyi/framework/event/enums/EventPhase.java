@@ -0,0 +1,35 @@
+package com.junoyi.framework.event.enums;
+
+/**
+ * 事件处理器执行阶段枚举
+ * 非 IMMEDIATE 阶段的处理器在事务中触发事件时，事件按事务缓冲，到对应阶段整批交给处理器；
+ * 当前线程没有活动事务（或未引入 spring-tx）时立即执行
+ *
+ * @author Fan
+ */
+public enum EventPhase {
+    /**
+     * 事件触发时立即执行（默认）
+     */
+    IMMEDIATE,
+
+    /**
+     * 事务提交前执行，处理器仍运行在事务内
+     */
+    BEFORE_COMMIT,
+
+    /**
+     * 事务成功提交后执行
+     */
+    AFTER_COMMIT,
+
+    /**
+     * 事务回滚后执行
+     */
+    AFTER_ROLLBACK,
+
+    /**
+     * 事务结束后执行，无论提交还是回滚
+     */
+    AFTER_COMPLETION
+}
@@ -0,0 +1,23 @@
+package com.junoyi.framework.event.enums;
+
+/**
+ * 异步事件处理器执行模式枚举
+ *
+ * @author Fan
+ */
+public enum ExecutorMode {
+    /**
+     * 平台线程池（有界队列 + 可配置的背压策略），适合 CPU 密集型处理器
+     */
+    PLATFORM,
+
+    /**
+     * 每个任务一个虚拟线程，适合包含 Redis/JDBC/HTTP 等阻塞 I/O 的处理器
+     */
+    VIRTUAL,
+
+    /**
+     * 虚拟线程 + 信号量限制最大并发数，避免压垮下游连接池
+     */
+    VIRTUAL_BOUNDED
+}
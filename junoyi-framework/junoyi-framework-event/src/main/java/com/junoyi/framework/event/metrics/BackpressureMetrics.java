@@ -0,0 +1,120 @@
+package com.junoyi.framework.event.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异步队列背压指标
+ * 按事件类型统计队列写满后各背压策略的处理次数（以事件数计）
+ *
+ * @author Fan
+ */
+public class BackpressureMetrics {
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 获取指定事件类型的计数器
+     *
+     * @param eventType 事件类型
+     * @return 计数器
+     */
+    public Counters of(Class<?> eventType) {
+        return counters.computeIfAbsent(eventType.getName(), k -> new Counters());
+    }
+
+    /**
+     * 获取全部事件类型的计数器
+     *
+     * @return 事件类型全限定名到计数器的只读映射
+     */
+    public Map<String, Counters> getCounters() {
+        return Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * 单个事件类型的背压计数器
+     */
+    public static class Counters {
+
+        /**
+         * 被丢弃的事件数
+         */
+        private final LongAdder dropped = new LongAdder();
+
+        /**
+         * 写入溢出队列的事件数
+         */
+        private final LongAdder spilled = new LongAdder();
+
+        /**
+         * 从溢出队列取回重新分发的事件数
+         */
+        private final LongAdder replayed = new LongAdder();
+
+        /**
+         * 由调用方线程执行的事件数
+         */
+        private final LongAdder callerRuns = new LongAdder();
+
+        /**
+         * 阻塞等待后成功入队的事件数
+         */
+        private final LongAdder blocked = new LongAdder();
+
+        /**
+         * 记录丢弃的事件数
+         *
+         * @param count 事件数
+         * @return 记录后的累计丢弃数
+         */
+        public long recordDropped(int count) {
+            dropped.add(count);
+            return dropped.sum();
+        }
+
+        public void recordSpilled(int count) {
+            spilled.add(count);
+        }
+
+        public void recordReplayed() {
+            replayed.increment();
+        }
+
+        public void recordCallerRuns(int count) {
+            callerRuns.add(count);
+        }
+
+        public void recordBlocked(int count) {
+            blocked.add(count);
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        public long getSpilled() {
+            return spilled.sum();
+        }
+
+        public long getReplayed() {
+            return replayed.sum();
+        }
+
+        public long getCallerRuns() {
+            return callerRuns.sum();
+        }
+
+        public long getBlocked() {
+            return blocked.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "dropped=" + getDropped() + ", spilled=" + getSpilled() + ", replayed=" + getReplayed()
+                    + ", callerRuns=" + getCallerRuns() + ", blocked=" + getBlocked();
+        }
+    }
+}
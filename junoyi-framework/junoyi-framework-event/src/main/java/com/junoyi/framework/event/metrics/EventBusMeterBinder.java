@@ -0,0 +1,180 @@
+package com.junoyi.framework.event.metrics;
+
+import com.junoyi.framework.event.core.EventBus;
+import com.junoyi.framework.event.core.RegisteredHandler;
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 事件总线 Micrometer 指标导出
+ * 指标数据由事件总线内部的计数器和直方图维护，这里只注册读取函数，采集时才计算，不增加事件分发开销。
+ * 新出现的事件类型在首次发布时注册；处理器注册或注销后同步处理器指标，已注销处理器的指标从 MeterRegistry 中移除。
+ * 事件类型和处理器的标签使用全限定类名（处理器另带方法名和参数类型），不同包中的同名类不会冲突。
+ * 处理器耗时的 p50/p99/max 为最近 1 分钟滑动窗口内的值，调用次数为累计值
+ *
+ * @author Fan
+ */
+public class EventBusMeterBinder implements MeterBinder {
+
+    private final JunoYiLog log = JunoYiLogFactory.getLogger(EventBusMeterBinder.class);
+
+    private static final String PREFIX = "junoyi.event.";
+
+    private final EventBus eventBus;
+
+    private volatile MeterRegistry registry;
+
+    /**
+     * 已导出指标的处理器及其指标
+     */
+    private final Map<RegisteredHandler, List<Meter>> boundHandlers = new IdentityHashMap<>();
+
+    /**
+     * 处理器标签到已导出指标的处理器，同一监听器类注册了多个实例时只导出第一个
+     */
+    private final Map<String, RegisteredHandler> handlerTags = new HashMap<>();
+
+    /**
+     * 因标签已被占用而未导出指标的处理器，占用标签的处理器注销后重新尝试导出
+     */
+    private final Set<RegisteredHandler> duplicates = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * 构造函数
+     *
+     * @param eventBus 事件总线
+     */
+    public EventBusMeterBinder(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        EventBusMetrics metrics = eventBus.getMetrics();
+        metrics.onNewEventType(this::bindEventType);
+        metrics.getPublished().keySet().forEach(this::bindEventType);
+
+        Gauge.builder(PREFIX + "queue.depth", eventBus, EventBus::getQueueDepth)
+                .description("Async handler tasks waiting to run")
+                .register(registry);
+        Gauge.builder(PREFIX + "executor.active", eventBus, EventBus::getActiveCount)
+                .description("Async handler tasks currently running")
+                .register(registry);
+        BackpressureMetrics backpressure = eventBus.getBackpressureMetrics();
+        backpressureCounter(registry, "dropped", "Events dropped because the async queue was full",
+                backpressure, BackpressureMetrics.Counters::getDropped);
+        backpressureCounter(registry, "caller.runs", "Events run on the publishing thread because the async queue was full",
+                backpressure, BackpressureMetrics.Counters::getCallerRuns);
+        backpressureCounter(registry, "blocked", "Events whose publisher waited for space in the async queue",
+                backpressure, BackpressureMetrics.Counters::getBlocked);
+        backpressureCounter(registry, "spilled", "Events spilled to the overflow store because the async queue was full",
+                backpressure, BackpressureMetrics.Counters::getSpilled);
+        eventBus.onHandlersChanged(this::refresh);
+        refresh();
+    }
+
+    /**
+     * 同步处理器指标：为新注册的处理器注册指标，移除已注销处理器的指标
+     */
+    public synchronized void refresh() {
+        MeterRegistry current = registry;
+        if (current == null)
+            return;
+        Set<RegisteredHandler> live = Collections.newSetFromMap(new IdentityHashMap<>());
+        eventBus.forEachHandler(live::add);
+
+        Iterator<Map.Entry<RegisteredHandler, List<Meter>>> bound = boundHandlers.entrySet().iterator();
+        while (bound.hasNext()) {
+            Map.Entry<RegisteredHandler, List<Meter>> entry = bound.next();
+            if (live.contains(entry.getKey()))
+                continue;
+            entry.getValue().forEach(current::remove);
+            handlerTags.remove(entry.getKey().qualifiedName());
+            bound.remove();
+        }
+        duplicates.retainAll(live);
+        for (RegisteredHandler handler : live) {
+            if (!boundHandlers.containsKey(handler))
+                bindHandler(current, handler);
+        }
+    }
+
+    private static void backpressureCounter(MeterRegistry registry, String name, String description,
+                                            BackpressureMetrics metrics, ToLongFunction<BackpressureMetrics.Counters> counter) {
+        FunctionCounter.builder(PREFIX + name, metrics, m -> total(m, counter))
+                .description(description)
+                .register(registry);
+    }
+
+    private static double total(BackpressureMetrics metrics, ToLongFunction<BackpressureMetrics.Counters> counter) {
+        long total = 0;
+        for (BackpressureMetrics.Counters counters : metrics.getCounters().values())
+            total += counter.applyAsLong(counters);
+        return total;
+    }
+
+    private void bindEventType(Class<?> eventType) {
+        MeterRegistry current = registry;
+        if (current == null)
+            return;
+        FunctionCounter.builder(PREFIX + "published", eventBus.getMetrics().getPublished().get(eventType), Number::doubleValue)
+                .description("Events published on this node")
+                .tags("event", eventType.getName())
+                .register(current);
+    }
+
+    private void bindHandler(MeterRegistry current, RegisteredHandler handler) {
+        String tag = handler.qualifiedName();
+        if (handlerTags.putIfAbsent(tag, handler) != null) {
+            if (duplicates.add(handler))
+                log.warn("Handler metrics already exported for another instance of the same listener, skipped: {}", tag);
+            return;
+        }
+        duplicates.remove(handler);
+        HandlerMetrics metrics = handler.metrics();
+        LatencyHistogram latency = metrics.getLatency();
+        Tags tags = Tags.of("handler", tag);
+        List<Meter> meters = new ArrayList<>(7);
+
+        meters.add(timeGauge(current, tags.and("statistic", "p50"), latency, h -> h.getPercentile(0.5)));
+        meters.add(timeGauge(current, tags.and("statistic", "p99"), latency, h -> h.getPercentile(0.99)));
+        meters.add(timeGauge(current, tags.and("statistic", "max"), latency, LatencyHistogram::getMax));
+
+        meters.add(FunctionCounter.builder(PREFIX + "handler.invocations", latency, LatencyHistogram::getCount)
+                .tags(tags).register(current));
+        meters.add(FunctionCounter.builder(PREFIX + "handler.errors", metrics, HandlerMetrics::getErrors)
+                .tags(tags).register(current));
+        meters.add(FunctionCounter.builder(PREFIX + "handler.rejected", metrics, HandlerMetrics::getRejected)
+                .tags(tags).register(current));
+        meters.add(FunctionCounter.builder(PREFIX + "handler.timeouts", metrics, HandlerMetrics::getTimedOut)
+                .tags(tags).register(current));
+        boundHandlers.put(handler, meters);
+    }
+
+    private Meter timeGauge(MeterRegistry current, Tags tags, LatencyHistogram latency, ToDoubleFunction<LatencyHistogram> value) {
+        return TimeGauge.builder(PREFIX + "handler.latency", latency, TimeUnit.NANOSECONDS, value)
+                .description("Handler execution time over the last minute")
+                .tags(tags)
+                .register(current);
+    }
+}
@@ -0,0 +1,71 @@
+package com.junoyi.framework.event.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 事件总线发布指标
+ * 按事件类型统计发布次数，热路径上通过 ClassValue 直接取得计数器，不做 Map 查找
+ *
+ * @author Fan
+ */
+public class EventBusMetrics {
+
+    private final Map<Class<?>, LongAdder> published = new ConcurrentHashMap<>();
+
+    private final ClassValue<LongAdder> counters = new ClassValue<>() {
+        @Override
+        protected LongAdder computeValue(Class<?> type) {
+            LongAdder counter = published.computeIfAbsent(type, k -> new LongAdder());
+            Consumer<Class<?>> listener = newTypeListener;
+            if (listener != null)
+                listener.accept(type);
+            return counter;
+        }
+    };
+
+    /**
+     * 首次出现新事件类型时的回调（用于注册外部指标）
+     */
+    private volatile Consumer<Class<?>> newTypeListener;
+
+    /**
+     * 记录一次事件发布
+     *
+     * @param eventType 事件类型
+     */
+    public void recordPublished(Class<?> eventType) {
+        counters.get(eventType).increment();
+    }
+
+    /**
+     * 记录一批同类型事件的发布
+     *
+     * @param eventType 事件类型
+     * @param count 事件数
+     */
+    public void recordPublished(Class<?> eventType, int count) {
+        counters.get(eventType).add(count);
+    }
+
+    /**
+     * 设置首次出现新事件类型时的回调
+     *
+     * @param listener 回调
+     */
+    public void onNewEventType(Consumer<Class<?>> listener) {
+        this.newTypeListener = listener;
+    }
+
+    /**
+     * 获取各事件类型的累计发布次数
+     *
+     * @return 事件类型到计数器的只读映射
+     */
+    public Map<Class<?>, LongAdder> getPublished() {
+        return Collections.unmodifiableMap(published);
+    }
+}
@@ -0,0 +1,100 @@
+package com.junoyi.framework.event.metrics;
+
+import com.junoyi.framework.event.core.EventBus;
+import com.junoyi.framework.event.core.RegisteredHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 事件总线指标快照
+ * 汇总发布次数、处理器耗时分布和异步队列状态，便于通过接口或日志输出
+ *
+ * @param published 各事件类型的累计发布次数（事件类全限定名 -> 次数）
+ * @param handlers 各处理器的执行指标
+ * @param queueDepth 异步队列中等待执行的任务数
+ * @param activeCount 正在执行的异步任务数（无法统计时为 -1）
+ * @param rejected 因并发上限被拒绝的处理器调用总数
+ * @param dropped 因异步队列写满被丢弃的事件总数
+ *
+ * @author Fan
+ */
+public record EventBusSnapshot(
+        Map<String, Long> published,
+        List<HandlerSnapshot> handlers,
+        long queueDepth,
+        int activeCount,
+        long rejected,
+        long dropped
+) {
+
+    /**
+     * 从事件总线采集快照
+     *
+     * @param eventBus 事件总线
+     * @return 指标快照
+     */
+    public static EventBusSnapshot of(EventBus eventBus) {
+        Map<String, Long> published = new TreeMap<>();
+        eventBus.getMetrics().getPublished().forEach((type, count) -> published.put(type.getName(), count.sum()));
+
+        List<HandlerSnapshot> handlers = new ArrayList<>();
+        long[] rejected = new long[1];
+        eventBus.forEachHandler(handler -> {
+            handlers.add(HandlerSnapshot.of(handler));
+            rejected[0] += handler.metrics().getRejected();
+        });
+
+        long dropped = 0;
+        for (BackpressureMetrics.Counters counters : eventBus.getBackpressureMetrics().getCounters().values())
+            dropped += counters.getDropped();
+
+        return new EventBusSnapshot(published, handlers, eventBus.getQueueDepth(), eventBus.getActiveCount(), rejected[0], dropped);
+    }
+
+    /**
+     * 单个处理器的执行指标
+     *
+     * @param handler 处理器名称（监听器类名#方法名）
+     * @param count 累计执行次数
+     * @param errors 异常次数
+     * @param rejected 并发上限拒绝次数
+     * @param timedOut 超时次数
+     * @param p50Millis 最近 1 分钟耗时 P50（毫秒）
+     * @param p99Millis 最近 1 分钟耗时 P99（毫秒）
+     * @param maxMillis 最近 1 分钟最大耗时（毫秒）
+     */
+    public record HandlerSnapshot(
+            String handler,
+            long count,
+            long errors,
+            long rejected,
+            long timedOut,
+            double p50Millis,
+            double p99Millis,
+            double maxMillis
+    ) {
+
+        static HandlerSnapshot of(RegisteredHandler handler) {
+            HandlerMetrics metrics = handler.metrics();
+            LatencyHistogram latency = metrics.getLatency();
+            return new HandlerSnapshot(
+                    handler.name(),
+                    latency.getCount(),
+                    metrics.getErrors(),
+                    metrics.getRejected(),
+                    metrics.getTimedOut(),
+                    toMillis(latency.getPercentile(0.5)),
+                    toMillis(latency.getPercentile(0.99)),
+                    toMillis(latency.getMax())
+            );
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
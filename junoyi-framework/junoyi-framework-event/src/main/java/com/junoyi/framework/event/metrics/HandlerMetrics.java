@@ -0,0 +1,90 @@
+package com.junoyi.framework.event.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个事件处理器的运行指标
+ * 使用 LongAdder 计数，热路径上只有无竞争的累加操作
+ *
+ * @author Fan
+ */
+public class HandlerMetrics {
+
+    /**
+     * 因超过并发上限（隔离舱）而被拒绝执行的次数
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 执行超过截止时间的次数
+     */
+    private final LongAdder timedOut = new LongAdder();
+
+    /**
+     * 执行抛出异常的次数
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * 执行耗时分布
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * 记录一次执行
+     *
+     * @param nanos 执行耗时（纳秒）
+     * @param failed 是否抛出异常
+     */
+    public void recordInvocation(long nanos, boolean failed) {
+        latency.record(nanos);
+        if (failed)
+            errors.increment();
+    }
+
+    /**
+     * 记录一次并发上限拒绝
+     */
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * 记录一次执行超时
+     */
+    public void recordTimedOut() {
+        timedOut.increment();
+    }
+
+    /**
+     * 获取被拒绝执行的次数
+     * @return 拒绝次数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 获取执行超时的次数
+     * @return 超时次数
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    /**
+     * 获取执行抛出异常的次数
+     * @return 异常次数
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * 获取执行耗时分布
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,215 @@
+package com.junoyi.framework.event.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图
+ * 按 2 的幂划分区间、每个区间再等分为 8 个子桶（相对误差不超过 12.5%），
+ * 记录只需一次数组下标计算和两次原子累加，适合在生产环境长期开启。
+ * 分位值和最大值只统计最近一个时间窗口（默认 1 分钟）：窗口由若干个轮换的时间片组成，
+ * 过期的时间片在下次写入时清空复用，旧的慢调用不会长期拉高 p99；记录次数为累计值
+ *
+ * @author Fan
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个 2 的幂区间的子桶数（2^3）
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * 覆盖 0 ~ 2^63 纳秒
+     */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    /**
+     * 默认统计窗口
+     */
+    private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+    /**
+     * 默认时间片数
+     */
+    private static final int DEFAULT_SLICES = 3;
+
+    private final Slice[] slices;
+
+    private final long sliceNanos;
+
+    /**
+     * 累计记录次数
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * 构造函数，统计最近 1 分钟（3 个 20 秒的时间片）
+     */
+    public LatencyHistogram() {
+        this(DEFAULT_WINDOW, DEFAULT_SLICES);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param window 分位值和最大值的统计窗口
+     * @param sliceCount 窗口划分的时间片数，越多窗口滑动越平滑、内存占用越大
+     */
+    public LatencyHistogram(Duration window, int sliceCount) {
+        int n = Math.max(1, sliceCount);
+        this.sliceNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(1), window.toNanos() / n);
+        this.slices = new Slice[n];
+        for (int i = 0; i < n; i++)
+            slices[i] = new Slice(Long.MIN_VALUE / 2);
+    }
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒）
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        count.increment();
+        Slice slice = current(tickOf(System.nanoTime()));
+        slice.counts.incrementAndGet(indexOf(nanos));
+        if (nanos > slice.max.get())
+            slice.max.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * 获取累计记录次数
+     *
+     * @return 记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 获取统计窗口内的最大耗时
+     *
+     * @return 最大耗时（纳秒），窗口内无记录时返回 0
+     */
+    public long getMax() {
+        long tick = tickOf(System.nanoTime());
+        long max = 0;
+        for (Slice slice : slices) {
+            if (inWindow(slice, tick))
+                max = Math.max(max, slice.max.get());
+        }
+        return max;
+    }
+
+    /**
+     * 获取统计窗口内指定分位的耗时（取所在子桶的上界）
+     *
+     * @param quantile 分位（0~1），如 0.5、0.99
+     * @return 耗时（纳秒），窗口内无记录时返回 0
+     */
+    public long getPercentile(double quantile) {
+        long tick = tickOf(System.nanoTime());
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        long max = 0;
+        for (Slice slice : slices) {
+            if (!inWindow(slice, tick))
+                continue;
+            for (int i = 0; i < BUCKETS; i++) {
+                long c = slice.counts.get(i);
+                snapshot[i] += c;
+                total += c;
+            }
+            max = Math.max(max, slice.max.get());
+        }
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank)
+                return Math.min(upperBoundOf(i), max);
+        }
+        return max;
+    }
+
+    private long tickOf(long nanoTime) {
+        return Math.floorDiv(nanoTime, sliceNanos);
+    }
+
+    private boolean inWindow(Slice slice, long tick) {
+        return tick - slice.tick < slices.length;
+    }
+
+    /**
+     * 获取当前时间片，时间片已过期时先清空再复用
+     */
+    private Slice current(long tick) {
+        Slice slice = slices[Math.floorMod(tick, slices.length)];
+        if (slice.tick != tick)
+            slice.rotate(tick);
+        return slice;
+    }
+
+    /**
+     * 计算耗时所在的子桶下标
+     * 小于 SUB_BUCKETS 的值直接对应前 SUB_BUCKETS 个桶，其余按最高位所在的 2 的幂区间和其后 3 位定位
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long base = 1L << exponent;
+        long width = base >>> SUB_BUCKET_BITS;
+        return base + (sub + 1) * width - 1;
+    }
+
+    /**
+     * 一个时间片的子桶计数和最大值
+     */
+    private static final class Slice {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+        private final AtomicLong max = new AtomicLong();
+
+        /**
+         * 时间片对应的刻度，清空完成后才更新，读取方据此判断时间片是否仍在窗口内
+         */
+        private volatile long tick;
+
+        private Slice(long tick) {
+            this.tick = tick;
+        }
+
+        /**
+         * 清空并切换到新的刻度，每个时间片每轮只有一个线程执行；
+         * 清空期间并发写入的少量记录可能被清除或计入新的时间片，对分位统计的影响可以忽略
+         */
+        private synchronized void rotate(long newTick) {
+            if (tick >= newTick)
+                return;
+            for (int i = 0; i < BUCKETS; i++)
+                counts.set(i, 0);
+            max.set(0);
+            tick = newTick;
+        }
+    }
+}
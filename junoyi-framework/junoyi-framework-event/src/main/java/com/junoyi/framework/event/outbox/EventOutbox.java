@@ -0,0 +1,338 @@
+package com.junoyi.framework.event.outbox;
+
+import com.junoyi.framework.event.annotation.OutboxEvent;
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.event.properties.EventBusProperties;
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * 事件发件箱
+ * 写入线程按组提交：写入期间到达的事件合并为下一组，一组事件只执行一次批量写入，
+ * 发布方（同步写入模式下）等待所在的组写入完成后返回；
+ * 中继线程按块从存储中取出事件交给本地处理器，写入完成后立即唤醒，空闲时按间隔轮询；
+ * 中继在取出事件的存储事务内同步执行全部处理器（包括异步处理器），处理器全部成功的事件才删除，
+ * 有处理器失败的事件退避后重新投递（其余处理器也会再次执行），达到最大投递次数后转为死信；
+ * 中继或进程在处理途中退出时事件保留在存储中，下次重新取出（至少一次）
+ *
+ * @author Fan
+ */
+public class EventOutbox {
+
+    private final JunoYiLog log = JunoYiLogFactory.getLogger(EventOutbox.class);
+
+    private static final ClassValue<Boolean> OUTBOX = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return type.isAnnotationPresent(OutboxEvent.class);
+        }
+    };
+
+    private final EventOutboxStore store;
+
+    private final EventBusProperties.Outbox config;
+
+    /**
+     * 本地分发回调，须在返回前同步执行完事件的全部处理器，返回有处理器失败的事件；
+     * 中继取出的事件、发件箱关闭后发布的事件和异步写入失败时降级的事件都通过它交给本地处理器，
+     * 只有中继取出的事件会按返回结果重新投递
+     */
+    private final Function<List<Event>, Collection<Event>> dispatcher;
+
+    private final Object lock = new Object();
+
+    /**
+     * 等待写入的事件组
+     */
+    private List<PendingWrite> pending = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    private Thread relay;
+
+    private final LongAdder appended = new LongAdder();
+
+    private final LongAdder relayed = new LongAdder();
+
+    private final LongAdder writeFailures = new LongAdder();
+
+    private final LongAdder deliveryFailures = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param store 发件箱存储
+     * @param config 发件箱配置
+     * @param dispatcher 本地分发回调，返回时事件的全部处理器须已执行结束，返回有处理器失败的事件
+     */
+    public EventOutbox(EventOutboxStore store, EventBusProperties.Outbox config, Function<List<Event>, Collection<Event>> dispatcher) {
+        this.store = store;
+        this.config = config;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * 判断事件类型是否标记了 @OutboxEvent
+     *
+     * @param eventType 事件类型
+     * @return 是否为发件箱事件
+     */
+    public static boolean isOutboxEvent(Class<?> eventType) {
+        return OUTBOX.get(eventType);
+    }
+
+    /**
+     * 启动写入线程和中继线程
+     */
+    public synchronized void start() {
+        if (running)
+            return;
+        running = true;
+        writer = new Thread(this::writeLoop, "junoyi-event-outbox-writer");
+        writer.setDaemon(true);
+        writer.start();
+        relay = new Thread(this::relayLoop, "junoyi-event-outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+    }
+
+    /**
+     * 写入一组事件
+     * 同步写入模式下等待写入完成（最多 writeTimeout），写入失败时把存储抛出的异常交给发布方；
+     * 发件箱已关闭时直接在本地同步分发
+     *
+     * @param events 事件列表
+     * @throws IllegalStateException 同步写入模式下存储写入失败时抛出（存储抛出的运行时异常原样抛出）
+     */
+    public void append(List<? extends Event> events) {
+        // 写入失败降级分发时处理器可能在写入线程上再次发布事件，此时不能等待自己
+        boolean awaited = config.isSyncWrite() && Thread.currentThread() != writer;
+        PendingWrite write = new PendingWrite(events, awaited);
+        synchronized (lock) {
+            if (!running) {
+                dispatcher.apply(new ArrayList<>(events));
+                return;
+            }
+            pending.add(write);
+            lock.notify();
+        }
+        if (awaited)
+            await(write);
+    }
+
+    private void await(PendingWrite write) {
+        try {
+            write.done.get(config.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        } catch (TimeoutException e) {
+            if (write.settled.compareAndSet(false, true)) {
+                // 事件仍在写入队列中，之后写入失败时由写入线程降级为本地分发，发布方不再等待
+                log.warn("Event outbox write did not finish within {}ms, events={}", config.getWriteTimeout().toMillis(), write.events.size());
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (write.settled.compareAndSet(false, true))
+                return;
+        } catch (ExecutionException e) {
+            throw writeFailure(e.getCause());
+        }
+        // 写入线程已先一步确定把异常交给发布方，等待它完成结果
+        try {
+            write.done.join();
+        } catch (CompletionException e) {
+            throw writeFailure(e.getCause());
+        }
+    }
+
+    private static RuntimeException writeFailure(Throwable cause) {
+        return cause instanceof RuntimeException runtime
+                ? runtime
+                : new IllegalStateException("Failed to append events to outbox", cause);
+    }
+
+    private void writeLoop() {
+        while (true) {
+            List<PendingWrite> group;
+            synchronized (lock) {
+                while (pending.isEmpty() && running) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // 关闭时由 running 标志结束循环
+                    }
+                }
+                if (pending.isEmpty())
+                    return;
+                group = pending;
+                pending = new ArrayList<>();
+            }
+            write(group);
+        }
+    }
+
+    private void write(List<PendingWrite> group) {
+        List<Event> events = new ArrayList<>();
+        for (PendingWrite write : group)
+            events.addAll(write.events);
+        try {
+            store.append(events);
+            appended.add(events.size());
+            LockSupport.unpark(relay);
+        } catch (RuntimeException e) {
+            writeFailures.add(events.size());
+            failed(group, e);
+            return;
+        }
+        for (PendingWrite write : group)
+            write.done.complete(null);
+    }
+
+    /**
+     * 处理写入失败的一组事件
+     * 仍在等待的发布方收到写入异常，由发布方决定重试或回滚；
+     * 异步写入或已停止等待的发布方无法再收到异常，这部分事件降级为直接在本地分发
+     */
+    private void failed(List<PendingWrite> group, RuntimeException e) {
+        List<Event> fallback = new ArrayList<>();
+        int propagated = 0;
+        for (PendingWrite write : group) {
+            if (write.awaited && write.settled.compareAndSet(false, true)) {
+                write.done.completeExceptionally(e);
+                propagated += write.events.size();
+            } else {
+                fallback.addAll(write.events);
+                write.done.complete(null);
+            }
+        }
+        log.error("EventOutboxWriteError", "Failed to append events to outbox, " + propagated
+                + " reported to publishers, " + fallback.size() + " dispatching locally", e);
+        if (fallback.isEmpty())
+            return;
+        try {
+            dispatcher.apply(fallback);
+        } catch (RuntimeException dispatchError) {
+            log.error("EventOutboxFallbackError", "Failed to dispatch " + fallback.size() + " events locally", dispatchError);
+        }
+    }
+
+    private void relayLoop() {
+        int batchSize = config.getRelayBatchSize();
+        long intervalNanos = config.getRelayInterval().toNanos();
+        while (running) {
+            int drained;
+            try {
+                // 处理器在取出事件的存储事务内同步执行，返回后存储删除成功的事件、推迟失败的事件
+                drained = store.drain(batchSize, events -> {
+                    Collection<Event> failed = dispatcher.apply(events);
+                    relayed.add(events.size() - failed.size());
+                    deliveryFailures.add(failed.size());
+                    return failed;
+                });
+            } catch (RuntimeException e) {
+                log.error("EventOutboxRelayError", "Failed to relay outbox events", e);
+                drained = 0;
+            }
+            // 取满一块说明还有积压，立即继续；否则等待写入唤醒或轮询间隔
+            if (drained < batchSize)
+                LockSupport.parkNanos(this, intervalNanos);
+        }
+    }
+
+    /**
+     * 关闭发件箱：写入线程写完已提交的事件后退出，中继线程完成当前这块事件后退出
+     *
+     * @param timeoutMillis 等待每个线程退出的最长时间
+     */
+    public synchronized void shutdown(long timeoutMillis) {
+        if (!running)
+            return;
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        LockSupport.unpark(relay);
+        try {
+            writer.join(timeoutMillis);
+            relay.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 获取已写入发件箱的事件数
+     *
+     * @return 事件数
+     */
+    public long getAppended() {
+        return appended.sum();
+    }
+
+    /**
+     * 获取中继已成功分发的事件数
+     *
+     * @return 事件数
+     */
+    public long getRelayed() {
+        return relayed.sum();
+    }
+
+    /**
+     * 获取写入失败的事件数（已把异常交给发布方或降级为本地分发）
+     *
+     * @return 事件数
+     */
+    public long getWriteFailures() {
+        return writeFailures.sum();
+    }
+
+    /**
+     * 获取中继投递时有处理器失败、等待重新投递的事件次数
+     *
+     * @return 事件次数
+     */
+    public long getDeliveryFailures() {
+        return deliveryFailures.sum();
+    }
+
+    /**
+     * 等待写入的一组事件
+     */
+    private static final class PendingWrite {
+
+        private final List<? extends Event> events;
+
+        /**
+         * 发布方是否等待写入结果
+         */
+        private final boolean awaited;
+
+        /**
+         * 写入失败的处理方式是否已确定：写入线程把异常交给发布方，或发布方超时放弃等待，两者只能有一个成功
+         */
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private PendingWrite(List<? extends Event> events, boolean awaited) {
+            this.events = events;
+            this.awaited = awaited;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.junoyi.framework.event.outbox;
+
+import com.junoyi.framework.event.core.Event;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 事件发件箱存储
+ * 发件箱事件先整组写入存储，再由中继按块取出分发，可通过注册该类型的 Bean 替换默认的 JDBC 实现
+ *
+ * @author Fan
+ */
+public interface EventOutboxStore {
+
+    /**
+     * 写入一组事件，整组写入成功或整组失败
+     *
+     * @param events 事件列表
+     */
+    void append(List<Event> events);
+
+    /**
+     * 按写入顺序取出一块到期的事件交给 handler 处理，并在同一事务内记录结果：
+     * 处理成功的事件删除；处理失败的事件投递次数加一，退避一段时间后重新取出，达到最大投递次数后转为死信，不再取出。
+     * handler 抛出异常时这块事件全部视为处理失败
+     *
+     * @param limit 最多取出的事件数，同时决定一个事务持有行锁的事件数
+     * @param handler 事件处理回调，返回处理失败的事件（与传入的事件为同一对象）
+     * @return 本次取出的事件数
+     */
+    int drain(int limit, Function<List<Event>, Collection<Event>> handler);
+}
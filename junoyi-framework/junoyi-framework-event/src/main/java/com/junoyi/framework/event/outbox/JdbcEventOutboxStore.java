@@ -0,0 +1,241 @@
+package com.junoyi.framework.event.outbox;
+
+import com.junoyi.framework.event.cluster.EventCodec;
+import com.junoyi.framework.event.core.Event;
+import com.junoyi.framework.log.core.JunoYiLog;
+import com.junoyi.framework.log.core.JunoYiLogFactory;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 基于 JDBC 的事件发件箱存储
+ * 一组事件在一个事务内通过 JDBC 批处理写入（MySQL 连接开启 rewriteBatchedStatements 后改写为多行 INSERT）；
+ * 中继通过 SELECT ... FOR UPDATE SKIP LOCKED 锁定一块到期的事件，多个节点可同时中继同一张表而不会重复取出。
+ * 处理失败的事件记录投递次数并按指数退避推迟下次投递时间，达到最大投递次数或无法解码的事件标记为死信（dead = 1），
+ * 保留在表中供人工排查，不再阻塞后续事件
+ *
+ * @author Fan
+ */
+public class JdbcEventOutboxStore implements EventOutboxStore {
+
+    private static final JunoYiLog log = JunoYiLogFactory.getLogger(JdbcEventOutboxStore.class);
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_.]+");
+
+    /**
+     * 退避时间最多翻倍的次数
+     */
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    private final DataSource dataSource;
+
+    private final EventCodec codec;
+
+    private final int writeBatchSize;
+
+    private final int maxAttempts;
+
+    private final long retryDelayMillis;
+
+    private final String insertSql;
+
+    private final String selectSql;
+
+    private final String deleteSql;
+
+    private final String retrySql;
+
+    /**
+     * 构造函数
+     *
+     * @param dataSource 发件箱所在的数据源
+     * @param table 发件箱表名
+     * @param codec 事件编解码器
+     * @param writeBatchSize 每次 JDBC 批处理执行的最大行数
+     * @param maxAttempts 最大投递次数，达到后转为死信
+     * @param retryDelay 首次重试的退避时间，之后每次失败翻倍
+     */
+    public JdbcEventOutboxStore(DataSource dataSource, String table, EventCodec codec, int writeBatchSize,
+                                int maxAttempts, Duration retryDelay) {
+        if (!TABLE_NAME.matcher(table).matches())
+            throw new IllegalArgumentException("Invalid event outbox table name: " + table);
+        this.dataSource = dataSource;
+        this.codec = codec;
+        this.writeBatchSize = Math.max(1, writeBatchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryDelayMillis = Math.max(0, retryDelay.toMillis());
+        this.insertSql = "INSERT INTO " + table + " (event_type, payload) VALUES (?, ?)";
+        this.selectSql = "SELECT id, payload, attempts FROM " + table
+                + " WHERE dead = 0 AND next_attempt_time <= ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+        this.deleteSql = "DELETE FROM " + table + " WHERE id = ?";
+        this.retrySql = "UPDATE " + table + " SET attempts = ?, dead = ?, next_attempt_time = ? WHERE id = ?";
+    }
+
+    @Override
+    public void append(List<Event> events) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                int rows = 0;
+                for (Event event : events) {
+                    statement.setString(1, event.getClass().getName());
+                    statement.setString(2, new String(codec.encode(List.of(event)), StandardCharsets.UTF_8));
+                    statement.addBatch();
+                    if (++rows % writeBatchSize == 0)
+                        statement.executeBatch();
+                }
+                if (rows % writeBatchSize != 0)
+                    statement.executeBatch();
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to append " + events.size() + " events to outbox", e);
+        }
+    }
+
+    @Override
+    public int drain(int limit, Function<List<Event>, Collection<Event>> handler) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long now = System.currentTimeMillis();
+                List<Row> rows = new ArrayList<>(limit);
+                List<Event> events = new ArrayList<>(limit);
+                try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                    statement.setLong(1, now);
+                    statement.setInt(2, limit);
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            Row row = new Row(rs.getLong(1), rs.getInt(3));
+                            String payload = rs.getString(2);
+                            rows.add(row);
+                            try {
+                                row.events = codec.decode(payload.getBytes(StandardCharsets.UTF_8));
+                                events.addAll(row.events);
+                            } catch (RuntimeException e) {
+                                // 无法还原的事件直接转为死信，避免每次中继都重复取出
+                                log.error("EventOutboxDecodeError", "Dead-lettering undecodable outbox event id=" + row.id + ", payload=" + payload, e);
+                            }
+                        }
+                    }
+                }
+                if (rows.isEmpty()) {
+                    connection.commit();
+                    return 0;
+                }
+                Set<Event> failed = deliver(events, handler);
+                long finished = System.currentTimeMillis();
+                try (PreparedStatement delete = connection.prepareStatement(deleteSql);
+                     PreparedStatement retry = connection.prepareStatement(retrySql)) {
+                    for (Row row : rows) {
+                        if (row.events == null) {
+                            addRetry(retry, row.id, row.attempts, true, now);
+                        } else if (row.isFailed(failed)) {
+                            int attempts = row.attempts + 1;
+                            boolean dead = attempts >= maxAttempts;
+                            if (dead)
+                                log.error("[EventOutboxDeadLetter] Outbox event id={} failed {} times and was dead-lettered", row.id, attempts);
+                            addRetry(retry, row.id, attempts, dead, finished + backoffMillis(attempts));
+                        } else {
+                            delete.setLong(1, row.id);
+                            delete.addBatch();
+                        }
+                    }
+                    delete.executeBatch();
+                    retry.executeBatch();
+                }
+                connection.commit();
+                return rows.size();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to drain event outbox", e);
+        }
+    }
+
+    /**
+     * 交给 handler 处理并收集失败的事件，handler 抛出异常时全部视为失败
+     */
+    private static Set<Event> deliver(List<Event> events, Function<List<Event>, Collection<Event>> handler) {
+        Set<Event> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (events.isEmpty())
+            return failed;
+        try {
+            Collection<Event> result = handler.apply(events);
+            if (result != null)
+                failed.addAll(result);
+        } catch (RuntimeException e) {
+            log.error("EventOutboxDeliveryError", "Failed to deliver " + events.size() + " outbox events, scheduling retry", e);
+            failed.addAll(events);
+        }
+        return failed;
+    }
+
+    private static void addRetry(PreparedStatement retry, long id, int attempts, boolean dead, long nextAttemptTime) throws SQLException {
+        retry.setInt(1, attempts);
+        retry.setInt(2, dead ? 1 : 0);
+        retry.setLong(3, nextAttemptTime);
+        retry.setLong(4, id);
+        retry.addBatch();
+    }
+
+    /**
+     * 第 attempts 次失败后的退避时间：retryDelay * 2^(attempts-1)，最多翻倍 MAX_BACKOFF_SHIFT 次
+     */
+    private long backoffMillis(int attempts) {
+        return retryDelayMillis << Math.min(Math.max(0, attempts - 1), MAX_BACKOFF_SHIFT);
+    }
+
+    /**
+     * 取出的一行发件箱记录
+     */
+    private static final class Row {
+
+        private final long id;
+
+        private final int attempts;
+
+        /**
+         * 解码出的事件，无法解码时为 null
+         */
+        private List<Event> events;
+
+        private Row(long id, int attempts) {
+            this.id = id;
+            this.attempts = attempts;
+        }
+
+        private boolean isFailed(Set<Event> failed) {
+            for (Event event : events) {
+                if (failed.contains(event))
+                    return true;
+            }
+            return false;
+        }
+    }
+}
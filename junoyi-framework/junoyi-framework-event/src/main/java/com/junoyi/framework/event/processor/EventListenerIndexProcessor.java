@@ -0,0 +1,220 @@
+package com.junoyi.framework.event.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+/**
+ * 事件监听器索引注解处理器
+ * 编译期收集 @EventListener 类及其 @EventHandler 方法，生成 META-INF/junoyi/event-listeners.index，
+ * 运行时 EventListenerScanner 读取该索引注册监听器，无需对每个 Bean 做注解检查和方法扫描。
+ * <p>
+ * 索引每行对应一个处理方法，以制表符分隔：监听器类名、方法名、参数类型、事件类型、显式声明的注解属性（URL 编码的 key=value，以 &amp; 连接）
+ *
+ * @author Fan
+ */
+@SupportedAnnotationTypes({
+        EventListenerIndexProcessor.EVENT_LISTENER,
+        EventListenerIndexProcessor.EVENT_HANDLER
+})
+public class EventListenerIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 索引文件位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/junoyi/event-listeners.index";
+
+    static final String EVENT_LISTENER = "com.junoyi.framework.event.annotation.EventListener";
+
+    static final String EVENT_HANDLER = "com.junoyi.framework.event.annotation.EventHandler";
+
+    private static final String EVENT = "com.junoyi.framework.event.core.Event";
+
+    private static final String HEADER = "# JunoYi event listener index, generated at compile time";
+
+    /**
+     * 监听器类名 -> 该类的索引行，按类名排序保证输出稳定
+     */
+    private final Map<String, List<String>> entries = new TreeMap<>();
+
+    private boolean loaded;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!loaded) {
+            loadExisting();
+            loaded = true;
+        }
+        TypeElement listenerAnnotation = processingEnv.getElementUtils().getTypeElement(EVENT_LISTENER);
+        if (listenerAnnotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(listenerAnnotation)) {
+                if (element.getKind() == ElementKind.CLASS)
+                    collect((TypeElement) element);
+            }
+        }
+        if (roundEnv.processingOver())
+            writeIndex();
+        return false;
+    }
+
+    /**
+     * 收集监听器类中的 @EventHandler 方法
+     */
+    private void collect(TypeElement listener) {
+        String listenerName = processingEnv.getElementUtils().getBinaryName(listener).toString();
+        List<String> lines = new ArrayList<>();
+        for (Element member : listener.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD)
+                continue;
+            AnnotationMirror handler = findAnnotation(member, EVENT_HANDLER);
+            if (handler == null)
+                continue;
+            ExecutableElement method = (ExecutableElement) member;
+            if (method.getParameters().size() != 1) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "@EventHandler method must have exactly one parameter", method);
+                continue;
+            }
+            TypeMirror parameter = method.getParameters().get(0).asType();
+            boolean batch = Boolean.TRUE.equals(attribute(handler, "batch"));
+            TypeMirror eventType = batch ? listElementType(parameter) : parameter;
+            if (eventType == null || !isEvent(eventType)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, batch
+                        ? "Batch @EventHandler method parameter must be List<? extends Event>"
+                        : "@EventHandler method parameter must implement Event", method);
+                continue;
+            }
+            lines.add(listenerName
+                    + '\t' + method.getSimpleName()
+                    + '\t' + binaryName(processingEnv.getTypeUtils().erasure(parameter))
+                    + '\t' + binaryName(eventType)
+                    + '\t' + encodeAttributes(handler));
+        }
+        entries.put(listenerName, lines);
+    }
+
+    /**
+     * 将显式声明的注解属性编码为 key=value&amp;key=value，未声明的属性运行时取注解默认值
+     */
+    private String encodeAttributes(AnnotationMirror annotation) {
+        StringJoiner joiner = new StringJoiner("&");
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            Object value = entry.getValue().getValue();
+            String text = value instanceof VariableElement constant ? constant.getSimpleName().toString() : String.valueOf(value);
+            joiner.add(entry.getKey().getSimpleName() + "=" + URLEncoder.encode(text, StandardCharsets.UTF_8));
+        }
+        return joiner.toString();
+    }
+
+    private Object attribute(AnnotationMirror annotation, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name))
+                return entry.getValue().getValue();
+        }
+        return null;
+    }
+
+    private AnnotationMirror findAnnotation(Element element, String annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType))
+                return mirror;
+        }
+        return null;
+    }
+
+    private TypeMirror listElementType(TypeMirror parameter) {
+        if (parameter.getKind() != TypeKind.DECLARED)
+            return null;
+        DeclaredType declared = (DeclaredType) parameter;
+        if (!((TypeElement) declared.asElement()).getQualifiedName().contentEquals("java.util.List")
+                || declared.getTypeArguments().size() != 1)
+            return null;
+        TypeMirror argument = declared.getTypeArguments().get(0);
+        return argument.getKind() == TypeKind.DECLARED ? argument : null;
+    }
+
+    private boolean isEvent(TypeMirror type) {
+        TypeElement event = processingEnv.getElementUtils().getTypeElement(EVENT);
+        return event != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(event.asType()));
+    }
+
+    private String binaryName(TypeMirror type) {
+        if (type.getKind() == TypeKind.DECLARED)
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) type).asElement()).toString();
+        return type.toString();
+    }
+
+    /**
+     * 增量编译时只会处理发生变化的类，先读入已有索引，保留仍然存在且本轮未重新处理的监听器
+     */
+    private void loadExisting() {
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#"))
+                        continue;
+                    String listener = line.substring(0, line.indexOf('\t'));
+                    if (processingEnv.getElementUtils().getTypeElement(listener.replace('$', '.')) != null)
+                        entries.computeIfAbsent(listener, k -> new ArrayList<>()).add(line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // 首次编译没有已有索引
+        }
+    }
+
+    private void writeIndex() {
+        entries.values().removeIf(List::isEmpty);
+        if (entries.isEmpty())
+            return;
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                writer.write(HEADER);
+                writer.write('\n');
+                for (List<String> lines : entries.values()) {
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.write('\n');
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + INDEX_LOCATION + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,622 @@
+package com.junoyi.framework.event.properties;
+
+import com.junoyi.framework.event.enums.BackpressurePolicy;
+import com.junoyi.framework.event.enums.EventIdStrategy;
+import com.junoyi.framework.event.enums.ExecutorMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 事件总线配置属性
+ *
+ * @author Fan
+ */
+@ConfigurationProperties(prefix = "junoyi.event")
+public class EventBusProperties {
+
+    /**
+     * 是否使用编译期生成的监听器索引注册监听器（类路径中没有索引时自动退化为运行时扫描）
+     */
+    private boolean listenerIndex = true;
+
+    /**
+     * 异步处理器执行器配置
+     */
+    private Executor executor = new Executor();
+
+    /**
+     * 分区有序通道配置
+     */
+    private Partition partition = new Partition();
+
+    /**
+     * 环形缓冲区分发引擎配置
+     */
+    private RingBuffer ringBuffer = new RingBuffer();
+
+    /**
+     * 异步队列背压配置
+     */
+    private Backpressure backpressure = new Backpressure();
+
+    /**
+     * 事件ID配置
+     */
+    private Id id = new Id();
+
+    /**
+     * 集群事件配置
+     */
+    private Cluster cluster = new Cluster();
+
+    /**
+     * 持久化事件发件箱配置
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * 异步处理器执行器配置
+     */
+    public static class Executor {
+        /**
+         * 执行模式
+         */
+        private ExecutorMode mode = ExecutorMode.PLATFORM;
+
+        /**
+         * 平台线程池核心线程数（小于等于0时取CPU核心数）
+         */
+        private int corePoolSize = 0;
+
+        /**
+         * 平台线程池最大线程数（小于等于0时取核心线程数的两倍）
+         */
+        private int maxPoolSize = 0;
+
+        /**
+         * 平台线程池队列容量
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * 平台线程池非核心线程空闲存活时间（秒）
+         */
+        private long keepAliveSeconds = 60;
+
+        /**
+         * VIRTUAL_BOUNDED 模式下同时执行的最大处理器数量
+         */
+        private int maxConcurrency = 256;
+
+        // getters and setters
+        public ExecutorMode getMode() {
+            return mode;
+        }
+
+        public void setMode(ExecutorMode mode) {
+            this.mode = mode;
+        }
+
+        public int getCorePoolSize() {
+            return corePoolSize > 0 ? corePoolSize : Runtime.getRuntime().availableProcessors();
+        }
+
+        public void setCorePoolSize(int corePoolSize) {
+            this.corePoolSize = corePoolSize;
+        }
+
+        public int getMaxPoolSize() {
+            return Math.max(getCorePoolSize(), maxPoolSize > 0 ? maxPoolSize : getCorePoolSize() * 2);
+        }
+
+        public void setMaxPoolSize(int maxPoolSize) {
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = Math.max(1, queueCapacity);
+        }
+
+        public long getKeepAliveSeconds() {
+            return keepAliveSeconds;
+        }
+
+        public void setKeepAliveSeconds(long keepAliveSeconds) {
+            this.keepAliveSeconds = Math.max(0, keepAliveSeconds);
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = Math.max(1, maxConcurrency);
+        }
+    }
+
+    /**
+     * 分区有序通道配置
+     */
+    public static class Partition {
+        /**
+         * 通道数量（小于等于0时取CPU核心数的两倍）
+         */
+        private int lanes = 0;
+
+        /**
+         * 单个通道最多等待执行的任务数，超出后新事件按事件类型的背压策略处理
+         */
+        private int laneCapacity = 10000;
+
+        // getters and setters
+        public int getLanes() {
+            return lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors() * 2;
+        }
+
+        public void setLanes(int lanes) {
+            this.lanes = lanes;
+        }
+
+        public int getLaneCapacity() {
+            return laneCapacity;
+        }
+
+        public void setLaneCapacity(int laneCapacity) {
+            this.laneCapacity = Math.max(1, laneCapacity);
+        }
+    }
+
+    /**
+     * 环形缓冲区分发引擎配置
+     * 启用后，callEvent 中的异步处理器改由环形缓冲区的消费者线程执行，适合审计、遥测等高吞吐事件
+     */
+    public static class RingBuffer {
+        /**
+         * 是否启用环形缓冲区分发引擎
+         */
+        private boolean enabled = false;
+
+        /**
+         * 每个消费者的缓冲区容量（向上取整为2的幂）
+         */
+        private int bufferSize = 8192;
+
+        /**
+         * 消费者线程数（小于等于0时取CPU核心数）
+         */
+        private int consumers = 0;
+
+        // getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = Math.max(2, bufferSize);
+        }
+
+        public int getConsumers() {
+            return consumers > 0 ? consumers : Runtime.getRuntime().availableProcessors();
+        }
+
+        public void setConsumers(int consumers) {
+            this.consumers = consumers;
+        }
+    }
+
+    /**
+     * 异步队列背压配置
+     * 平台线程池队列写满后的处理策略，可按事件类型单独配置
+     */
+    public static class Backpressure {
+        /**
+         * 默认背压策略
+         */
+        private BackpressurePolicy policy = BackpressurePolicy.CALLER_RUNS;
+
+        /**
+         * 按事件类型配置的背压策略，键为事件的简单类名或全限定类名（全限定类名需写成 "[com.example.OrderEvent]"）
+         */
+        private Map<String, BackpressurePolicy> events = new LinkedHashMap<>();
+
+        /**
+         * BLOCK 策略下调用方最长等待时间
+         */
+        private Duration blockTimeout = Duration.ofMillis(100);
+
+        /**
+         * SAMPLE 策略下保留的事件比例（0~1）
+         */
+        private double sampleRate = 0.1;
+
+        /**
+         * SPILL 策略使用的 Redis 队列名称
+         */
+        private String spillQueue = "junoyi:event:spill";
+
+        /**
+         * 每次从溢出队列取回的最大事件数
+         */
+        private int replayBatchSize = 256;
+
+        // getters and setters
+        public BackpressurePolicy getPolicy() {
+            return policy;
+        }
+
+        public void setPolicy(BackpressurePolicy policy) {
+            this.policy = policy;
+        }
+
+        public Map<String, BackpressurePolicy> getEvents() {
+            return events;
+        }
+
+        public void setEvents(Map<String, BackpressurePolicy> events) {
+            this.events = events;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = Math.min(1, Math.max(0, sampleRate));
+        }
+
+        public String getSpillQueue() {
+            return spillQueue;
+        }
+
+        public void setSpillQueue(String spillQueue) {
+            this.spillQueue = spillQueue;
+        }
+
+        public int getReplayBatchSize() {
+            return replayBatchSize;
+        }
+
+        public void setReplayBatchSize(int replayBatchSize) {
+            this.replayBatchSize = Math.max(1, replayBatchSize);
+        }
+
+        /**
+         * 是否有事件类型配置了 SPILL 策略
+         *
+         * @return 配置了 SPILL 时返回 true
+         */
+        public boolean isSpillConfigured() {
+            return policy == BackpressurePolicy.SPILL || events.containsValue(BackpressurePolicy.SPILL);
+        }
+    }
+
+    /**
+     * 事件ID配置（作用于 BaseEvent）
+     */
+    public static class Id {
+        /**
+         * 事件ID生成策略
+         */
+        private EventIdStrategy strategy = EventIdStrategy.SNOWFLAKE;
+
+        /**
+         * SNOWFLAKE 策略的节点号（0~1023，小于0时根据进程号和主机名推导）
+         */
+        private int nodeId = -1;
+
+        /**
+         * 是否在事件创建时单独记录时间戳（关闭时从 SNOWFLAKE 事件ID中还原，精度为毫秒；RANDOM 策略无法还原，总是记录）
+         */
+        private boolean captureTimestamp = false;
+
+        // getters and setters
+        public EventIdStrategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(EventIdStrategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public int getNodeId() {
+            return nodeId;
+        }
+
+        public void setNodeId(int nodeId) {
+            this.nodeId = nodeId;
+        }
+
+        public boolean isCaptureTimestamp() {
+            return captureTimestamp;
+        }
+
+        public void setCaptureTimestamp(boolean captureTimestamp) {
+            this.captureTimestamp = captureTimestamp;
+        }
+    }
+
+    /**
+     * 集群事件配置
+     * 开启后，标记了 @DistributedEvent 的事件会通过 Redis 主题广播到集群中的其他节点
+     */
+    public static class Cluster {
+        /**
+         * 是否开启集群事件广播（需引入 Redis 模块）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 集群事件主题名称
+         */
+        private String topic = "junoyi:event:cluster";
+
+        /**
+         * 每批广播的最大事件数
+         */
+        private int batchSize = 256;
+
+        /**
+         * 批内第一个事件最多等待的时间
+         */
+        private Duration flushInterval = Duration.ofMillis(5);
+
+        // getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getTopic() {
+            return topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+
+    /**
+     * 持久化事件发件箱配置
+     */
+    public static class Outbox {
+        /**
+         * 是否开启事件发件箱（需引入数据源模块，并建好发件箱表）
+         */
+        private boolean enabled = false;
+
+        /**
+         * 发件箱所在的动态数据源名称，默认日志库
+         */
+        private String datasource = "log";
+
+        /**
+         * 发件箱表名
+         */
+        private String table = "sys_event_outbox";
+
+        /**
+         * 发布方是否等待事件写入发件箱后再返回，开启时写入失败的异常抛给发布方
+         */
+        private boolean syncWrite = true;
+
+        /**
+         * 同步写入模式下发布方最多等待的时间
+         */
+        private Duration writeTimeout = Duration.ofSeconds(3);
+
+        /**
+         * 每次 JDBC 批处理执行的最大行数
+         */
+        private int writeBatchSize = 500;
+
+        /**
+         * 中继每次从发件箱取出的最大事件数，这块事件的处理器都在同一个存储事务内执行，
+         * 处理期间一直持有这些行的行锁和一个数据库连接
+         */
+        private int relayBatchSize = 100;
+
+        /**
+         * 中继空闲时的轮询间隔
+         */
+        private Duration relayInterval = Duration.ofMillis(200);
+
+        /**
+         * 最大投递次数，事件的处理器连续失败达到该次数后转为死信，不再投递
+         */
+        private int maxAttempts = 10;
+
+        /**
+         * 处理器失败后首次重新投递的等待时间，之后每次失败翻倍
+         */
+        private Duration retryDelay = Duration.ofSeconds(5);
+
+        // getters and setters
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDatasource() {
+            return datasource;
+        }
+
+        public void setDatasource(String datasource) {
+            this.datasource = datasource;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public void setTable(String table) {
+            this.table = table;
+        }
+
+        public boolean isSyncWrite() {
+            return syncWrite;
+        }
+
+        public void setSyncWrite(boolean syncWrite) {
+            this.syncWrite = syncWrite;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public int getWriteBatchSize() {
+            return writeBatchSize;
+        }
+
+        public void setWriteBatchSize(int writeBatchSize) {
+            this.writeBatchSize = Math.max(1, writeBatchSize);
+        }
+
+        public int getRelayBatchSize() {
+            return relayBatchSize;
+        }
+
+        public void setRelayBatchSize(int relayBatchSize) {
+            this.relayBatchSize = Math.max(1, relayBatchSize);
+        }
+
+        public Duration getRelayInterval() {
+            return relayInterval;
+        }
+
+        public void setRelayInterval(Duration relayInterval) {
+            this.relayInterval = relayInterval;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = Math.max(1, maxAttempts);
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+    }
+
+    // === 主要配置类的getter/setter ===
+
+    public boolean isListenerIndex() {
+        return listenerIndex;
+    }
+
+    public void setListenerIndex(boolean listenerIndex) {
+        this.listenerIndex = listenerIndex;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    public Partition getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Partition partition) {
+        this.partition = partition;
+    }
+
+    public RingBuffer getRingBuffer() {
+        return ringBuffer;
+    }
+
+    public void setRingBuffer(RingBuffer ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    public Backpressure getBackpressure() {
+        return backpressure;
+    }
+
+    public void setBackpressure(Backpressure backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public Id getId() {
+        return id;
+    }
+
+    public void setId(Id id) {
+        this.id = id;
+    }
+
+    public Cluster getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(Cluster cluster) {
+        this.cluster = cluster;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public void setOutbox(Outbox outbox) {
+        this.outbox = outbox;
+    }
+}
@@ -0,0 +1,350 @@
+package com.junoyi.framework.log.appender;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.junoyi.framework.log.util.LogRingBuffer;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 框架异步日志输出器
+ * 挂在控制台、文件等输出器之前：业务线程只把日志事件放入有界无锁环形队列，
+ * 由后台工作线程交给挂载的输出器完成编码和 I/O；队列接近满时按丢弃策略和日志级别决定丢弃还是等待，
+ * 停止时工作线程先写完队列中剩余的日志（最多 maxFlushTime）
+ * 未启用时退化为同步输出，直接在调用线程交给挂载的输出器
+ *
+ * @author Fan
+ */
+public class JunoYiAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * 队列满时的丢弃策略
+     */
+    public enum DiscardPolicy {
+
+        /**
+         * 剩余容量低于 1/5 时丢弃 INFO 及以下级别，WARN、ERROR 等待入队
+         */
+        DISCARD,
+
+        /**
+         * 不丢弃，队列满时所有级别都等待入队
+         */
+        BLOCK,
+
+        /**
+         * 从不阻塞业务线程：剩余容量低于 1/5 时丢弃 INFO 及以下级别，队列满时任何级别都丢弃
+         */
+        ASYNC
+    }
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private boolean enabled = true;
+
+    private int queueSize = 256;
+
+    private DiscardPolicy discardPolicy = DiscardPolicy.DISCARD;
+
+    private boolean includeCallerData = false;
+
+    private int workerCount = 1;
+
+    private int maxFlushTime = 1000;
+
+    private LogRingBuffer<ILoggingEvent> queue;
+
+    /**
+     * 剩余容量低于该值时开始按级别丢弃
+     */
+    private int discardingThreshold;
+
+    private Worker[] workers;
+
+    private volatile boolean running;
+
+    private final LongAdder discarded = new LongAdder();
+
+    @Override
+    public void start() {
+        if (isStarted())
+            return;
+        if (!appenders.iteratorForAppenders().hasNext())
+            addWarn("No appender attached to [" + name + "], log events will be dropped");
+        if (enabled) {
+            queue = new LogRingBuffer<>(queueSize);
+            discardingThreshold = queue.capacity() / 5;
+            running = true;
+            workers = new Worker[Math.max(1, workerCount)];
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker("junoyi-log-async-" + name + "-" + i);
+                workers[i].start();
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (!running || isWorkerThread()) {
+            // 同步模式、已停止或工作线程自身记录的日志（等待自己会死锁）直接输出
+            appenders.appendLoopOnAppenders(event);
+            return;
+        }
+        boolean discardable = event.getLevel().toInt() <= Level.INFO_INT;
+        if (discardable && discardPolicy != DiscardPolicy.BLOCK
+                && queue.capacity() - queue.size() < discardingThreshold) {
+            discarded.increment();
+            return;
+        }
+        // 入队前固定线程名、MDC 和格式化消息，工作线程上不再依赖调用线程的上下文
+        event.prepareForDeferredProcessing();
+        if (includeCallerData)
+            event.getCallerData();
+        if (!queue.offer(event))
+            offerSlow(event);
+        else
+            signalWorkers();
+    }
+
+    /**
+     * 队列已满：ASYNC 策略直接丢弃，其余策略等待工作线程腾出位置
+     */
+    private void offerSlow(ILoggingEvent event) {
+        if (discardPolicy == DiscardPolicy.ASYNC) {
+            discarded.increment();
+            return;
+        }
+        int spins = 0;
+        while (!queue.offer(event)) {
+            signalWorkers();
+            if (!running) {
+                appenders.appendLoopOnAppenders(event);
+                return;
+            }
+            if (++spins < 64)
+                Thread.onSpinWait();
+            else
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+        signalWorkers();
+    }
+
+    private void signalWorkers() {
+        for (Worker worker : workers) {
+            if (worker.parked)
+                LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean isWorkerThread() {
+        Thread current = Thread.currentThread();
+        if (current instanceof Worker) {
+            for (Worker worker : workers) {
+                if (worker == current)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted())
+            return;
+        super.stop();
+        if (running) {
+            running = false;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxFlushTime);
+            for (Worker worker : workers) {
+                LockSupport.unpark(worker);
+                try {
+                    worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (!anyAlive(workers)) {
+                // 工作线程退出后仍可能有事件入队（生产者在 running 置为 false 之前通过了检查），在停止子输出器前写完
+                ILoggingEvent event;
+                while ((event = queue.poll()) != null)
+                    appenders.appendLoopOnAppenders(event);
+            }
+            int remaining = queue.size();
+            if (remaining > 0)
+                addWarn("Max flush time of " + maxFlushTime + "ms exceeded, " + remaining + " log events in [" + name + "] were not flushed");
+        }
+        if (discarded.sum() > 0)
+            addInfo("[" + name + "] discarded " + discarded.sum() + " log events while the queue was full");
+        appenders.detachAndStopAllAppenders();
+    }
+
+    private static boolean anyAlive(Worker[] workers) {
+        for (Worker worker : workers) {
+            if (worker.isAlive())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * 工作线程：取出事件交给挂载的输出器，队列为空时短暂自旋后挂起等待生产者唤醒；
+     * 停止后写完队列中剩余的事件再退出
+     */
+    private final class Worker extends Thread {
+
+        private volatile boolean parked;
+
+        private Worker(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                ILoggingEvent event = queue.poll();
+                if (event != null) {
+                    idle = 0;
+                    appenders.appendLoopOnAppenders(event);
+                    continue;
+                }
+                if (!running)
+                    return;
+                if (++idle < 100) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                parked = true;
+                // 挂起前再检查一次，避免错过挂起标志设置前入队的事件
+                if (queue.size() == 0 && running)
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                parked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    /**
+     * 获取因队列满而丢弃的日志数
+     *
+     * @return 丢弃数
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * 获取队列中等待输出的日志数
+     *
+     * @return 日志数，同步模式下为 0
+     */
+    public int getQueueDepth() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    // === Getter/Setter方法 ===
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = Math.max(1, queueSize);
+    }
+
+    public DiscardPolicy getDiscardPolicy() {
+        return discardPolicy;
+    }
+
+    public void setDiscardPolicy(String discardPolicy) {
+        try {
+            this.discardPolicy = DiscardPolicy.valueOf(discardPolicy.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            addWarn("Unknown discard policy [" + discardPolicy + "], falling back to DISCARD");
+            this.discardPolicy = DiscardPolicy.DISCARD;
+        }
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * 设置工作线程数；多于 1 个时同一输出器上的日志不再严格保持先后顺序
+     */
+    public void setWorkerCount(int workerCount) {
+        this.workerCount = Math.max(1, workerCount);
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = Math.max(0, maxFlushTime);
+    }
+
+    // === AppenderAttachable ===
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
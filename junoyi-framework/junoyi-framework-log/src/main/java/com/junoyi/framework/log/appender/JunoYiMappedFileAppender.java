@@ -0,0 +1,714 @@
+package com.junoyi.framework.log.appender;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.util.FileSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 框架内存映射文件输出器
+ * 日志编码后直接复制进内存映射的段文件（大小为 maxFileSize），写入不经过输出流，也不按条刷新；
+ * 未提交的数据累计达到 commitSize 或距上次提交超过 commitInterval 时由提交线程批量提交（force）到磁盘，写入线程不等待刷盘。
+ * 段文件写满时截断到实际长度并归档为 <文件名>-<段开始时间>.<扩展名>，由后台线程压缩为 .gz，
+ * 并按 maxHistory（归档个数）和 totalSizeCap（归档总大小）清理最旧的归档
+ * 进程异常退出后，下次启动时截掉段文件末尾未写入的零字节并归档，上次未压缩完的归档重新压缩；
+ * 滚动时新段映射失败（磁盘已满、映射数达到上限等）后改为通过普通文件通道直接追加写入，
+ * 每隔 REOPEN_INTERVAL 重新尝试映射，成功后先归档降级期间写入的内容；错误信息按同一间隔限流输出
+ * 注意：写入中的段文件按 maxFileSize 预先占位，读取时末尾为零字节
+ *
+ * @author Fan
+ */
+public class JunoYiMappedFileAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * 归档文件名中段开始时间的格式，按文件名排序即按时间先后排序
+     */
+    private static final DateTimeFormatter ARCHIVE_TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * 解除内存映射的方法，不可用时由 GC 回收映射
+     */
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    /**
+     * 新段映射失败后重新尝试映射的间隔，同时也是写入错误的输出间隔
+     */
+    private static final long REOPEN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private Encoder<ILoggingEvent> encoder;
+
+    private String file;
+
+    private FileSize maxFileSize = new FileSize(100 * FileSize.MB_COEFFICIENT);
+
+    private int maxHistory = 30;
+
+    private FileSize totalSizeCap = new FileSize(FileSize.GB_COEFFICIENT);
+
+    private boolean compress = true;
+
+    private FileSize commitSize = new FileSize(FileSize.MB_COEFFICIENT);
+
+    private int commitInterval = 1000;
+
+    private int maxCompressWaitTime = 10000;
+
+    /**
+     * 写入锁：保护当前段的写入位置和段切换
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 提交锁：提交（force）与解除映射互斥；提交时不持有写入锁，写入线程不等待刷盘
+     */
+    private final ReentrantLock commitLock = new ReentrantLock();
+
+    private Path activePath;
+
+    private Path directory;
+
+    private String archivePrefix;
+
+    private String archiveExtension;
+
+    private Segment segment;
+
+    /**
+     * 新段映射失败期间直接追加写入段文件的通道，持有写入锁时读写
+     */
+    private FileChannel fallback;
+
+    /**
+     * 下次重新尝试映射新段的时间（System.nanoTime），持有写入锁时读写
+     */
+    private long nextReopenTime;
+
+    /**
+     * 下次允许输出写入错误的时间和期间被省略的错误数，持有写入锁时读写
+     */
+    private long nextErrorTime;
+
+    private int suppressedErrors;
+
+    /**
+     * 上次通知提交线程以来写入的字节数
+     */
+    private int uncommitted;
+
+    private volatile boolean running;
+
+    private Thread committer;
+
+    private ExecutorService compressor;
+
+    @Override
+    public void start() {
+        if (isStarted())
+            return;
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "]");
+            return;
+        }
+        if (file == null || file.trim().isEmpty()) {
+            addError("No file set for the appender named [" + name + "]");
+            return;
+        }
+        activePath = Paths.get(file.trim()).toAbsolutePath();
+        directory = activePath.getParent();
+        String fileName = activePath.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        archivePrefix = (dot > 0 ? fileName.substring(0, dot) : fileName) + "-";
+        archiveExtension = dot > 0 ? fileName.substring(dot) : ".log";
+
+        compressor = Executors.newSingleThreadExecutor(r -> newDaemonThread(r, "junoyi-log-compress-" + name));
+        try {
+            Files.createDirectories(directory);
+            recoverActiveSegment();
+            segment = openSegment(0);
+        } catch (IOException e) {
+            addError("Failed to open log segment [" + activePath + "]", e);
+            compressor.shutdownNow();
+            return;
+        }
+        // 上次未压缩完的归档和超出保留策略的归档交给后台线程处理
+        compressor.execute(this::compressPendingArchives);
+
+        running = true;
+        committer = newDaemonThread(this::runCommitter, "junoyi-log-commit-" + name);
+        committer.start();
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        byte[] bytes = encoder.encode(event);
+        if (bytes == null || bytes.length == 0)
+            return;
+        lock.lock();
+        try {
+            // 映射段仍然可用时（本条写入失败）不能再通过文件通道写入同一文件
+            if (writeMapped(bytes) || segment != null)
+                return;
+            // 没有可用的映射段（滚动时新段映射失败），直接追加写入段文件
+            writeFallback(bytes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写入当前映射段，需要时滚动到新段，调用方需持有写入锁
+     *
+     * @return 已写入映射段返回 true；没有可用的映射段或写入失败时返回 false
+     */
+    private boolean writeMapped(byte[] bytes) {
+        try {
+            if (segment == null && !reopenSegment())
+                return false;
+            if (bytes.length > segment.buffer.remaining())
+                rollSegment(bytes.length);
+            segment.buffer.put(bytes);
+            uncommitted += bytes.length;
+            if (uncommitted >= commitSize.getSize()) {
+                uncommitted = 0;
+                LockSupport.unpark(committer);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            reportError("Failed to write log event to mapped segment [" + activePath + "], writing directly to the file", e);
+            return false;
+        }
+    }
+
+    /**
+     * 新段映射失败后按 REOPEN_INTERVAL 重新尝试映射，调用方需持有写入锁
+     * 成功时先关闭降级写入通道，并把降级期间写入的内容（及滚动失败遗留的段文件）归档
+     *
+     * @return 已打开新段返回 true
+     */
+    private boolean reopenSegment() {
+        long now = System.nanoTime();
+        if (now - nextReopenTime < 0)
+            return false;
+        nextReopenTime = now + REOPEN_INTERVAL_NANOS;
+        try {
+            closeFallback();
+            recoverActiveSegment();
+            segment = openSegment(0);
+            addInfo("Log segment [" + activePath + "] mapped again");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            reportError("Failed to map log segment [" + activePath + "], writing directly to the file", e);
+            return false;
+        }
+    }
+
+    /**
+     * 通过普通文件通道追加写入，调用方需持有写入锁
+     * 首次打开时截掉段文件末尾未写入的零字节（滚动失败时旧段可能未截断）
+     */
+    private void writeFallback(byte[] bytes) {
+        try {
+            if (fallback == null) {
+                FileChannel channel = FileChannel.open(activePath, StandardOpenOption.CREATE,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                try {
+                    channel.truncate(dataLength(channel));
+                    channel.position(channel.size());
+                } catch (IOException | RuntimeException e) {
+                    channel.close();
+                    throw e;
+                }
+                fallback = channel;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining())
+                fallback.write(buffer);
+        } catch (IOException | RuntimeException e) {
+            reportError("Failed to write log event to [" + activePath + "]", e);
+        }
+    }
+
+    private void closeFallback() throws IOException {
+        FileChannel channel = fallback;
+        fallback = null;
+        if (channel != null)
+            channel.close();
+    }
+
+    /**
+     * 按 REOPEN_INTERVAL 限流输出写入错误，调用方需持有写入锁
+     */
+    private void reportError(String message, Throwable e) {
+        long now = System.nanoTime();
+        if (now - nextErrorTime < 0) {
+            suppressedErrors++;
+            return;
+        }
+        nextErrorTime = now + REOPEN_INTERVAL_NANOS;
+        if (suppressedErrors > 0) {
+            message += " (" + suppressedErrors + " similar errors suppressed)";
+            suppressedErrors = 0;
+        }
+        addError(message, e);
+    }
+
+    /**
+     * 提交线程：每隔 commitInterval 或被写入线程唤醒（未提交数据达到 commitSize）时提交一次
+     */
+    private void runCommitter() {
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(commitInterval);
+        while (running) {
+            LockSupport.parkNanos(this, intervalNanos);
+            Segment current;
+            int position;
+            lock.lock();
+            try {
+                current = segment;
+                if (current == null)
+                    continue;
+                position = current.buffer.position();
+            } finally {
+                lock.unlock();
+            }
+            commitLock.lock();
+            try {
+                // 取出位置后段可能已被归档并解除映射
+                if (!current.closed)
+                    current.commit(position);
+            } catch (RuntimeException e) {
+                addError("Failed to commit log segment [" + activePath + "]", e);
+            } finally {
+                commitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 归档当前段并打开新段，调用方需持有写入锁
+     *
+     * @param minCapacity 新段至少需要的容量（超过 maxFileSize 的单条日志独占一个段）
+     */
+    private void rollSegment(int minCapacity) throws IOException {
+        try {
+            closeSegment();
+            segment = openSegment(minCapacity);
+        } catch (IOException | RuntimeException e) {
+            // 改为直接写入文件，REOPEN_INTERVAL 后再尝试归档和映射
+            nextReopenTime = System.nanoTime() + REOPEN_INTERVAL_NANOS;
+            throw e;
+        }
+    }
+
+    private Segment openSegment(int minCapacity) throws IOException {
+        long capacity = Math.max(Math.min(maxFileSize.getSize(), Integer.MAX_VALUE), minCapacity);
+        FileChannel channel = FileChannel.open(activePath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), System.currentTimeMillis());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 提交剩余数据并解除映射，截断到实际写入长度后归档，交给后台线程压缩和清理，调用方需持有写入锁
+     */
+    private void closeSegment() throws IOException {
+        Segment closing = segment;
+        segment = null;
+        uncommitted = 0;
+        int length = closing.buffer.position();
+        try {
+            commitLock.lock();
+            try {
+                closing.commit(length);
+            } finally {
+                closing.closed = true;
+                unmap(closing.buffer);
+                commitLock.unlock();
+            }
+            closing.channel.truncate(length);
+        } finally {
+            closing.channel.close();
+        }
+        if (length == 0) {
+            Files.deleteIfExists(activePath);
+            return;
+        }
+        archive(closing.startTime);
+    }
+
+    /**
+     * 把写入中的段文件重命名为归档文件，交给后台线程压缩和清理
+     */
+    private void archive(long startTime) throws IOException {
+        Path archive = nextArchivePath(startTime);
+        Files.move(activePath, archive);
+        compressor.execute(() -> {
+            if (compress)
+                compressArchive(archive);
+            applyRetention();
+        });
+    }
+
+    /**
+     * 生成不与已有归档重名的归档路径，同一毫秒内的多个段依次后延一毫秒
+     */
+    private Path nextArchivePath(long startTime) {
+        long time = startTime;
+        while (true) {
+            Path candidate = directory.resolve(archivePrefix + ARCHIVE_TIME_FORMATTER.format(Instant.ofEpochMilli(time)) + archiveExtension);
+            if (!Files.exists(candidate) && !Files.exists(Paths.get(candidate + GZIP_SUFFIX)))
+                return candidate;
+            time++;
+        }
+    }
+
+    /**
+     * 处理上次异常退出遗留的段文件：截掉末尾未写入的零字节后归档，空文件直接删除
+     */
+    private void recoverActiveSegment() throws IOException {
+        if (!Files.exists(activePath))
+            return;
+        // 截断会更新修改时间，先取出最后写入的时间用于归档命名
+        long lastModified = Files.getLastModifiedTime(activePath).toMillis();
+        long length;
+        try (FileChannel recovering = FileChannel.open(activePath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            length = dataLength(recovering);
+            recovering.truncate(length);
+        }
+        if (length == 0) {
+            Files.delete(activePath);
+            return;
+        }
+        archive(lastModified);
+    }
+
+    /**
+     * 从文件末尾向前查找最后一个非零字节，得到段文件中实际写入的长度
+     */
+    private static long dataLength(FileChannel channel) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+        long end = channel.size();
+        while (end > 0) {
+            int length = (int) Math.min(chunk.capacity(), end);
+            long start = end - length;
+            chunk.clear().limit(length);
+            while (chunk.hasRemaining()) {
+                if (channel.read(chunk, start + chunk.position()) < 0)
+                    break;
+            }
+            for (int i = chunk.position() - 1; i >= 0; i--) {
+                if (chunk.get(i) != 0)
+                    return start + i + 1;
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * 压缩上次未压缩的归档（残留的不完整 .gz 会被覆盖）并执行保留策略
+     */
+    private void compressPendingArchives() {
+        if (compress) {
+            for (Path archive : listArchives()) {
+                if (!archive.getFileName().toString().endsWith(GZIP_SUFFIX))
+                    compressArchive(archive);
+            }
+        }
+        applyRetention();
+    }
+
+    /**
+     * 压缩归档为 .gz，成功后删除原文件；失败时保留原文件，删除不完整的压缩文件
+     */
+    private void compressArchive(Path archive) {
+        // 启动时的补压缩和滚动后的压缩任务可能指向同一个归档
+        if (!Files.exists(archive))
+            return;
+        Path target = Paths.get(archive + GZIP_SUFFIX);
+        try (InputStream in = Files.newInputStream(archive);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), 64 * 1024) {
+                 {
+                     // 日志量大时优先压缩速度，压缩率与默认级别相差不大
+                     def.setLevel(Deflater.BEST_SPEED);
+                 }
+             }) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            addError("Failed to compress log archive [" + archive + "]", e);
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException ignored) {
+                // 下次启动时重新压缩
+            }
+            return;
+        }
+        try {
+            Files.delete(archive);
+        } catch (IOException e) {
+            addWarn("Failed to delete compressed log archive [" + archive + "]: " + e);
+        }
+    }
+
+    /**
+     * 保留最新的 maxHistory 个归档，并删除最旧的归档直到总大小不超过 totalSizeCap
+     */
+    private void applyRetention() {
+        List<Path> archives = listArchives();
+        // 最新的在前
+        Collections.reverse(archives);
+        long totalSize = 0;
+        for (int i = 0; i < archives.size(); i++) {
+            Path archive = archives.get(i);
+            try {
+                long size = Files.size(archive);
+                if (i >= maxHistory || totalSize + size > totalSizeCap.getSize()) {
+                    Files.deleteIfExists(archive);
+                    continue;
+                }
+                totalSize += size;
+            } catch (IOException e) {
+                addWarn("Failed to apply retention to log archive [" + archive + "]: " + e);
+            }
+        }
+    }
+
+    /**
+     * 列出本输出器的归档文件（含压缩和未压缩），按文件名即按时间从旧到新排序；
+     * 同一段的未压缩文件排在其 .gz 之前
+     */
+    private List<Path> listArchives() {
+        List<Path> archives = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, archivePrefix + "*")) {
+            for (Path path : stream) {
+                String fileName = path.getFileName().toString();
+                if (fileName.endsWith(archiveExtension) || fileName.endsWith(archiveExtension + GZIP_SUFFIX))
+                    archives.add(path);
+            }
+        } catch (IOException e) {
+            addWarn("Failed to list log archives in [" + directory + "]: " + e);
+        }
+        archives.sort(null);
+        return archives;
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted())
+            return;
+        super.stop();
+        running = false;
+        LockSupport.unpark(committer);
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            closeFallback();
+            if (segment != null)
+                closeSegment();
+        } catch (IOException | RuntimeException e) {
+            addError("Failed to close log segment [" + activePath + "]", e);
+        } finally {
+            lock.unlock();
+        }
+        compressor.shutdown();
+        try {
+            if (!compressor.awaitTermination(maxCompressWaitTime, TimeUnit.MILLISECONDS))
+                addWarn("Log archives in [" + directory + "] are still being compressed, the rest will be compressed on next start");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 写入中的段文件
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        private final long startTime;
+
+        /**
+         * 已提交到磁盘的长度，持有提交锁时读写
+         */
+        private int committed;
+
+        /**
+         * 是否已解除映射，持有提交锁时读写
+         */
+        private boolean closed;
+
+        private Segment(FileChannel channel, MappedByteBuffer buffer, long startTime) {
+            this.channel = channel;
+            this.buffer = buffer;
+            this.startTime = startTime;
+        }
+
+        /**
+         * 把 position 之前未提交的部分提交到磁盘，调用方需持有提交锁
+         */
+        private void commit(int position) {
+            if (position > committed) {
+                buffer.force(committed, position - committed);
+                committed = position;
+            }
+        }
+    }
+
+    private static Thread newDaemonThread(Runnable runnable, String threadName) {
+        Thread thread = new Thread(runnable, threadName);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * 立即解除映射，否则映射要等到 GC 回收缓冲区时才释放，期间部分平台无法截断和重命名文件
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null)
+            return;
+        try {
+            INVOKE_CLEANER.invoke(buffer);
+        } catch (Throwable ignored) {
+            // 交给 GC 回收映射
+        }
+    }
+
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // === Getter/Setter方法 ===
+
+    public Encoder<ILoggingEvent> getEncoder() {
+        return encoder;
+    }
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public FileSize getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * 设置段文件大小，最大 2GB
+     */
+    public void setMaxFileSize(FileSize maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+
+    public void setMaxHistory(int maxHistory) {
+        this.maxHistory = Math.max(1, maxHistory);
+    }
+
+    public FileSize getTotalSizeCap() {
+        return totalSizeCap;
+    }
+
+    public void setTotalSizeCap(FileSize totalSizeCap) {
+        this.totalSizeCap = totalSizeCap;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    public FileSize getCommitSize() {
+        return commitSize;
+    }
+
+    public void setCommitSize(FileSize commitSize) {
+        this.commitSize = commitSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * 设置定时提交的间隔（毫秒）
+     */
+    public void setCommitInterval(int commitInterval) {
+        this.commitInterval = Math.max(1, commitInterval);
+    }
+
+    public int getMaxCompressWaitTime() {
+        return maxCompressWaitTime;
+    }
+
+    /**
+     * 设置停止时等待后台压缩完成的最长时间（毫秒）
+     */
+    public void setMaxCompressWaitTime(int maxCompressWaitTime) {
+        this.maxCompressWaitTime = Math.max(0, maxCompressWaitTime);
+    }
+}
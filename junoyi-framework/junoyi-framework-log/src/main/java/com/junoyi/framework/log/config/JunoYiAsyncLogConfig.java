@@ -1,22 +1,17 @@
 package com.junoyi.framework.log.config;
 
-import com.junoyi.framework.log.config.JunoYiLogProperties;
+import com.junoyi.framework.log.core.AsyncLogChannel;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
 
 /**
  * 异步日志配置类
- * 配置异步日志线程池
+ * 按配置的容量创建 logAsync 等异步日志方法使用的后台通道，容器关闭时输出完队列中剩余的日志
  *
  * @author Fan
  */
 @Configuration
-@EnableAsync
 @ConditionalOnProperty(prefix = "junoyi.log.async", name = "enabled", havingValue = "true")
 public class JunoYiAsyncLogConfig {
 
@@ -27,35 +22,10 @@ public class JunoYiAsyncLogConfig {
     }
 
     /**
-     * 异步日志线程池
+     * 异步日志通道，可注入后读取丢弃数、队列深度和输出延迟等指标
      */
-    @Bean(name = "junoYiLogAsyncExecutor")
-    @ConditionalOnProperty(prefix = "junoyi.log.async", name = "enabled", havingValue = "true")
-    public Executor asyncLogExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        
-        // 设置核心线程数
-        executor.setCorePoolSize(logProperties.getAsync().getThreadPoolSize());
-        
-        // 设置最大线程数
-        executor.setMaxPoolSize(logProperties.getAsync().getThreadPoolSize() * 2);
-        
-        // 设置队列容量
-        executor.setQueueCapacity(logProperties.getAsync().getQueueSize());
-        
-        // 设置线程名前缀
-        executor.setThreadNamePrefix("JunoYi-Log-");
-        
-        // 设置拒绝策略
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        
-        // 等待所有任务结束后再关闭线程池
-        executor.setWaitForTasksToCompleteOnShutdown(true);
-        
-        // 设置等待时间
-        executor.setAwaitTerminationSeconds(60);
-        
-        executor.initialize();
-        return executor;
+    @Bean(name = "junoYiAsyncLogChannel", destroyMethod = "shutdown")
+    public AsyncLogChannel asyncLogChannel() {
+        return AsyncLogChannel.configure(logProperties.getAsync().getChannelQueueSize());
     }
 }
@@ -140,7 +140,7 @@ public class JunoYiLogProperties {
         private String path = "logs/junoyi.log";
 
         /**
-         * 日志文件最大大小（支持KB,MB,GB）
+         * 日志文件最大大小（支持KB,MB,GB），内存映射写入时为每个段文件的大小（最大2GB）
          */
         private String maxSize = "100MB";
 
@@ -155,7 +155,7 @@ public class JunoYiLogProperties {
         private String totalSizeCap = "1GB";
 
         /**
-         * 是否启用压缩
+         * 是否启用压缩（内存映射写入时由后台线程把写满的段文件压缩为 .gz）
          */
         private boolean compress = true;
 
@@ -164,6 +164,32 @@ public class JunoYiLogProperties {
          */
         private String encoding = "UTF-8";
 
+        /**
+         * 日志文件格式：text（与控制台相同的文本格式）, json（每行一条 JSON，便于日志采集解析）
+         */
+        private String format = "text";
+
+        /**
+         * json 格式下每个异常最多输出的堆栈帧数
+         */
+        private int maxStackTraceLines = 32;
+
+        /**
+         * 是否使用内存映射的段文件写入：日志直接复制进映射内存，按 commitSize / commitInterval 批量提交，
+         * 段文件写满（maxSize）后归档，按 maxHistory 和 totalSizeCap 清理
+         */
+        private boolean memoryMapped = false;
+
+        /**
+         * 内存映射写入时未提交的数据达到该大小即提交到磁盘（支持KB,MB,GB）
+         */
+        private String commitSize = "1MB";
+
+        /**
+         * 内存映射写入时定时提交的间隔（毫秒）
+         */
+        private int commitInterval = 1000;
+
         // getters and setters
         public boolean isEnabled() {
             return enabled;
@@ -220,6 +246,46 @@ public class JunoYiLogProperties {
         public void setEncoding(String encoding) {
             this.encoding = encoding;
         }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public void setFormat(String format) {
+            this.format = format;
+        }
+
+        public int getMaxStackTraceLines() {
+            return maxStackTraceLines;
+        }
+
+        public void setMaxStackTraceLines(int maxStackTraceLines) {
+            this.maxStackTraceLines = Math.max(1, maxStackTraceLines);
+        }
+
+        public boolean isMemoryMapped() {
+            return memoryMapped;
+        }
+
+        public void setMemoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+        }
+
+        public String getCommitSize() {
+            return commitSize;
+        }
+
+        public void setCommitSize(String commitSize) {
+            this.commitSize = commitSize;
+        }
+
+        public int getCommitInterval() {
+            return commitInterval;
+        }
+
+        public void setCommitInterval(int commitInterval) {
+            this.commitInterval = Math.max(1, commitInterval);
+        }
     }
 
     /**
@@ -416,7 +482,7 @@ public class JunoYiLogProperties {
         private int queueSize = 256;
 
         /**
-         * 丢弃策略：DISCARD, BLOCK, ASYNC
+         * 队列接近满时的丢弃策略：DISCARD（丢弃 INFO 及以下，WARN/ERROR 等待）, BLOCK（全部等待）, ASYNC（从不阻塞，队列满时全部丢弃）
          */
         private String discardingThreshold = "DISCARD";
 
@@ -426,10 +492,15 @@ public class JunoYiLogProperties {
         private boolean includeCallerData = false;
 
         /**
-         * 异步线程池大小
+         * 异步日志工作线程数
          */
         private int threadPoolSize = 1;
 
+        /**
+         * logAsync 等异步日志方法使用的后台通道队列大小，队列满时丢弃并计数；未启用异步日志时不创建通道，logAsync 同步输出
+         */
+        private int channelQueueSize = 8192;
+
         // getters and setters
         public boolean isEnabled() {
             return enabled;
@@ -470,6 +541,14 @@ public class JunoYiLogProperties {
         public void setThreadPoolSize(int threadPoolSize) {
             this.threadPoolSize = Math.max(1, threadPoolSize);
         }
+
+        public int getChannelQueueSize() {
+            return channelQueueSize;
+        }
+
+        public void setChannelQueueSize(int channelQueueSize) {
+            this.channelQueueSize = Math.max(1, channelQueueSize);
+        }
     }
 
     // === 主要配置类的getter/setter ===
@@ -0,0 +1,331 @@
+package com.junoyi.framework.log.core;
+
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.junoyi.framework.log.util.LogRingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.event.Level;
+import org.slf4j.spi.MDCAdapter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步日志通道
+ * logAsync 等异步日志方法的后台管道：调用线程只在级别启用时捕获一条不可变记录
+ * （Logger、级别、消息模板、参数、异常、线程名、时间戳和 MDC 快照），放入有界无锁队列后立即返回，
+ * 由专用消费线程格式化并输出；输出的日志保留调用线程的线程名、时间和 MDC（含 traceId）。
+ * 队列满时丢弃并计数，同时统计从提交到输出的延迟。
+ * 通道只由 configure 创建（junoyi.log.async.enabled=true 时由配置类创建），未创建时 get 返回同步通道，
+ * 异步日志方法在调用线程直接输出，不会隐式启动后台线程
+ *
+ * @author Fan
+ */
+public final class AsyncLogChannel {
+
+    /**
+     * 默认队列容量
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 3000;
+
+    private static final String FQCN = AsyncLogChannel.class.getName();
+
+    private static volatile AsyncLogChannel instance;
+
+    /**
+     * 未创建通道时使用的同步通道：不启动消费线程，提交的日志在调用线程直接输出
+     */
+    private static final AsyncLogChannel DIRECT = new AsyncLogChannel();
+
+    private final LogRingBuffer<LogRecord> queue;
+
+    private final Thread consumer;
+
+    private volatile boolean running;
+
+    private volatile boolean parked;
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * 以下统计只由消费线程写入
+     */
+    private volatile long emitted;
+
+    private volatile long totalLagNanos;
+
+    private volatile long maxLagNanos;
+
+    private volatile long lastLagNanos;
+
+    private AsyncLogChannel() {
+        this.queue = new LogRingBuffer<>(2);
+        this.consumer = null;
+    }
+
+    private AsyncLogChannel(int capacity) {
+        this.queue = new LogRingBuffer<>(capacity);
+        this.running = true;
+        this.consumer = new Thread(this::consume, "junoyi-log-channel");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "junoyi-log-channel-shutdown"));
+        } catch (IllegalStateException e) {
+            // JVM 已在关闭中，通道随调用方一起结束
+        }
+    }
+
+    /**
+     * 获取共享通道
+     *
+     * @return 已通过 configure 创建的异步日志通道；尚未创建时返回在调用线程同步输出的通道
+     */
+    public static AsyncLogChannel get() {
+        AsyncLogChannel channel = instance;
+        return channel != null ? channel : DIRECT;
+    }
+
+    /**
+     * 以指定容量创建共享通道
+     * 通道已创建且仍在运行时直接返回已有通道，容量与已有通道不同时输出告警；已停止的通道会被重新创建
+     *
+     * @param capacity 队列容量（向上取整为 2 的幂）
+     * @return 异步日志通道
+     */
+    public static synchronized AsyncLogChannel configure(int capacity) {
+        AsyncLogChannel channel = instance;
+        if (channel != null && channel.running) {
+            // 与 LogRingBuffer 一样向上取整为 2 的幂后比较
+            if ((Integer.highestOneBit(Math.max(2, capacity) - 1) << 1) != channel.getCapacity())
+                LoggerFactory.getLogger(AsyncLogChannel.class).warn(
+                        "Async log channel already created with capacity {}, requested capacity {} ignored",
+                        channel.getCapacity(), capacity);
+            return channel;
+        }
+        channel = new AsyncLogChannel(capacity);
+        instance = channel;
+        return channel;
+    }
+
+    /**
+     * 提交一条日志，级别未启用时直接返回，不捕获任何上下文
+     *
+     * @param logger 目标 Logger
+     * @param level 日志级别
+     * @param template 消息模板（{} 占位符）
+     * @param args 模板参数，可为 null；参数对象本身不复制，调用方不应在提交后修改
+     * @param throwable 异常，可为 null
+     */
+    public void submit(Logger logger, Level level, String template, Object[] args, Throwable throwable) {
+        if (!logger.isEnabledForLevel(level))
+            return;
+        if (!running) {
+            logger.atLevel(level).setCause(throwable).log(template, args);
+            return;
+        }
+        LogRecord record = new LogRecord(logger, level, template,
+                args == null || args.length == 0 ? null : args.clone(), throwable,
+                Thread.currentThread().getName(), System.currentTimeMillis(), System.nanoTime(), snapshotMDC());
+        submitted.increment();
+        if (!queue.offer(record)) {
+            dropped.increment();
+            return;
+        }
+        if (parked)
+            LockSupport.unpark(consumer);
+    }
+
+    /**
+     * 解析级别名称（不区分大小写）
+     *
+     * @param level 级别名称
+     * @param defaultLevel 无法识别时使用的级别
+     * @return 日志级别
+     */
+    public static Level toLevel(String level, Level defaultLevel) {
+        if (level == null)
+            return defaultLevel;
+        switch (level.toUpperCase()) {
+            case "TRACE":
+                return Level.TRACE;
+            case "DEBUG":
+                return Level.DEBUG;
+            case "INFO":
+                return Level.INFO;
+            case "WARN":
+                return Level.WARN;
+            case "ERROR":
+                return Level.ERROR;
+            default:
+                return defaultLevel;
+        }
+    }
+
+    /**
+     * 捕获当前线程的 MDC
+     * logback 的只读属性表在 MDC 修改时整体替换，可以直接作为快照；其他实现复制一份
+     */
+    private static Map<String, String> snapshotMDC() {
+        MDCAdapter adapter = MDC.getMDCAdapter();
+        Map<String, String> map = adapter instanceof LogbackMDCAdapter logback
+                ? logback.getPropertyMap()
+                : adapter.getCopyOfContextMap();
+        return map == null ? Collections.emptyMap() : map;
+    }
+
+    private void consume() {
+        int idle = 0;
+        while (true) {
+            LogRecord record = queue.poll();
+            if (record != null) {
+                idle = 0;
+                emit(record);
+                continue;
+            }
+            if (!running)
+                return;
+            if (++idle < 100) {
+                Thread.onSpinWait();
+                continue;
+            }
+            parked = true;
+            // 挂起前再检查一次，避免错过挂起标志设置前入队的记录
+            if (queue.size() == 0 && running)
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+            parked = false;
+            idle = 0;
+        }
+    }
+
+    private void emit(LogRecord record) {
+        try {
+            if (record.logger() instanceof ch.qos.logback.classic.Logger logback) {
+                // 直接构造日志事件，保留调用线程的线程名、时间和 MDC
+                LoggingEvent event = new LoggingEvent(FQCN, logback,
+                        ch.qos.logback.classic.Level.fromLocationAwareLoggerInteger(record.level().toInt()),
+                        record.template(), record.throwable(), record.args());
+                event.setThreadName(record.threadName());
+                event.setTimeStamp(record.timestamp());
+                event.setMDCPropertyMap(record.mdc());
+                event.setCallerData(new StackTraceElement[0]);
+                logback.callAppenders(event);
+            } else {
+                // 其他 slf4j 实现：在消费线程上恢复 MDC 后输出
+                MDC.setContextMap(record.mdc());
+                try {
+                    record.logger().atLevel(record.level()).setCause(record.throwable()).log(record.template(), record.args());
+                } finally {
+                    MDC.clear();
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("JunoYi async log channel failed to emit log: " + e);
+        }
+        long lag = System.nanoTime() - record.submitNanos();
+        lastLagNanos = lag;
+        totalLagNanos += lag;
+        if (lag > maxLagNanos)
+            maxLagNanos = lag;
+        emitted++;
+    }
+
+    /**
+     * 停止通道，最多等待 3 秒输出剩余记录
+     */
+    public void shutdown() {
+        shutdown(DEFAULT_SHUTDOWN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * 停止通道：消费线程输出完队列中剩余的记录后退出，之后提交的日志在调用线程同步输出
+     *
+     * @param timeoutMillis 等待消费线程退出的最长时间
+     */
+    public void shutdown(long timeoutMillis) {
+        if (!running || consumer == null)
+            return;
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(Math.max(1, timeoutMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // === 统计指标 ===
+
+    /**
+     * 获取队列容量
+     */
+    public int getCapacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * 获取队列中等待输出的记录数
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 获取已提交的记录数（含丢弃）
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * 获取因队列满而丢弃的记录数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 获取已输出的记录数
+     */
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    /**
+     * 获取最近一条记录从提交到输出的延迟（纳秒）
+     */
+    public long getLastLagNanos() {
+        return lastLagNanos;
+    }
+
+    /**
+     * 获取从提交到输出的最大延迟（纳秒）
+     */
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    /**
+     * 获取从提交到输出的平均延迟（纳秒）
+     */
+    public long getAverageLagNanos() {
+        long count = emitted;
+        return count == 0 ? 0 : totalLagNanos / count;
+    }
+
+    /**
+     * 一条待输出的日志记录
+     */
+    private record LogRecord(Logger logger, Level level, String template, Object[] args, Throwable throwable,
+                             String threadName, long timestamp, long submitNanos, Map<String, String> mdc) {
+    }
+}
@@ -2,7 +2,7 @@ package com.junoyi.framework.log.core;
 
 import org.slf4j.Logger;
 import org.slf4j.MDC;
-import org.springframework.scheduling.annotation.Async;
+import org.slf4j.event.Level;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Supplier;
@@ -21,6 +21,10 @@ import java.util.function.Supplier;
  */
 public class JunoYiLog {
 
+    private static final String PERFORMANCE_TEMPLATE = "   性能监控 - 操作: [{}], 耗时: [{}]ms";
+
+    private static final String BUSINESS_TEMPLATE = "   业务日志 - 模块: [{}], 操作: [{}], 结果: [{}]";
+
     private final Logger delegate;
 
     public JunoYiLog(Logger delegate) {
@@ -79,7 +83,9 @@ public class JunoYiLog {
      * 带分类的日志
      */
     public void info(String category, String msg) {
-        delegate.info("[{}] {}", category, msg);
+        if (delegate.isInfoEnabled()) {
+            delegate.info("[" + category + "] " + msg);
+        }
     }
 
     /**
@@ -144,14 +150,14 @@ public class JunoYiLog {
      * 性能监控日志
      */
     public void performance(String operation, long duration) {
-        info("   性能监控 - 操作: [{}], 耗时: [{}]ms", operation, duration);
+        info(PERFORMANCE_TEMPLATE, operation, duration);
     }
 
     /**
      * 业务日志
      */
     public void business(String module, String action, String result) {
-        info("   业务日志 - 模块: [{}], 操作: [{}], 结果: [{}]", module, action, result);
+        info(BUSINESS_TEMPLATE, module, action, result);
     }
 
     /**
@@ -179,75 +185,165 @@ public class JunoYiLog {
         }
     }
 
+    // === 延迟日志方法（级别未启用时不执行 Supplier，不拼接消息） ===
+
+    /**
+     * TRACE 级别启用时才生成消息
+     */
+    public void trace(Supplier<String> msgSupplier) {
+        if (delegate.isTraceEnabled()) {
+            delegate.trace(msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带分类的日志，TRACE 级别启用时才生成消息
+     */
+    public void trace(String category, Supplier<String> msgSupplier) {
+        if (delegate.isTraceEnabled()) {
+            delegate.trace("[" + category + "] " + msgSupplier.get());
+        }
+    }
+
+    /**
+     * DEBUG 级别启用时才生成消息
+     */
+    public void debug(Supplier<String> msgSupplier) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带分类的日志，DEBUG 级别启用时才生成消息
+     */
+    public void debug(String category, Supplier<String> msgSupplier) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug("[" + category + "] " + msgSupplier.get());
+        }
+    }
+
+    /**
+     * INFO 级别启用时才生成消息
+     */
+    public void info(Supplier<String> msgSupplier) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带分类的日志，INFO 级别启用时才生成消息
+     */
+    public void info(String category, Supplier<String> msgSupplier) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info("[" + category + "] " + msgSupplier.get());
+        }
+    }
+
+    /**
+     * WARN 级别启用时才生成消息
+     */
+    public void warn(Supplier<String> msgSupplier) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带分类的日志，WARN 级别启用时才生成消息
+     */
+    public void warn(String category, Supplier<String> msgSupplier) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn("[" + category + "] " + msgSupplier.get());
+        }
+    }
+
+    /**
+     * ERROR 级别启用时才生成消息
+     */
+    public void error(Supplier<String> msgSupplier) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error(msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带分类的日志，ERROR 级别启用时才生成消息
+     */
+    public void error(String category, Supplier<String> msgSupplier) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error("[" + category + "] " + msgSupplier.get());
+        }
+    }
+
+    /**
+     * 带异常的日志，WARN 级别启用时才生成消息
+     */
+    public void warn(Supplier<String> msgSupplier, Throwable t) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(msgSupplier.get(), t);
+        }
+    }
+
+    /**
+     * 带分类和异常的日志，WARN 级别启用时才生成消息
+     */
+    public void warn(String category, Supplier<String> msgSupplier, Throwable t) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn("[" + category + "] " + msgSupplier.get(), t);
+        }
+    }
+
+    /**
+     * 带异常的日志，ERROR 级别启用时才生成消息
+     */
+    public void error(Supplier<String> msgSupplier, Throwable t) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error(msgSupplier.get(), t);
+        }
+    }
+
+    /**
+     * 带分类和异常的日志，ERROR 级别启用时才生成消息
+     */
+    public void error(String category, Supplier<String> msgSupplier, Throwable t) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error("[" + category + "] " + msgSupplier.get(), t);
+        }
+    }
+
     // === 异步日志方法 ===
+    // 经 AsyncLogChannel 交给后台线程输出，调用线程只捕获级别、模板、参数和 MDC 快照
 
     /**
      * 异步记录日志
      */
-    @Async
     public void logAsync(String level, String message, Object... args) {
-        switch (level.toUpperCase()) {
-            case "INFO":
-                info(message, args);
-                break;
-            case "WARN":
-                warn(message, args);
-                break;
-            case "ERROR":
-                error(message, args);
-                break;
-            case "DEBUG":
-                debug(message, args);
-                break;
-            case "TRACE":
-                trace(message, args);
-                break;
-            default:
-                info(message, args);
-        }
+        AsyncLogChannel.get().submit(delegate, AsyncLogChannel.toLevel(level, Level.INFO), message, args, null);
     }
 
     /**
-     * 异步记录带异常的日志
+     * 异步记录带异常的日志（仅 ERROR 级别附带异常堆栈）
      */
-    @Async
     public void logAsync(String level, String message, Throwable throwable) {
-        switch (level.toUpperCase()) {
-            case "INFO":
-                info(message);
-                break;
-            case "WARN":
-                warn(message);
-                break;
-            case "ERROR":
-                error(message, throwable);
-                break;
-            case "DEBUG":
-                debug(message);
-                break;
-            case "TRACE":
-                trace(message);
-                break;
-            default:
-                error(message, throwable);
-        }
+        Level logLevel = AsyncLogChannel.toLevel(level, Level.ERROR);
+        AsyncLogChannel.get().submit(delegate, logLevel, message, null, logLevel == Level.ERROR ? throwable : null);
     }
 
     /**
-     * 异步性能日志
+     * 异步性能日志，耗时在调用时计算
      */
-    @Async
     public void logPerformanceAsync(String operation, long startTime) {
         long duration = System.currentTimeMillis() - startTime;
-        performance(operation, duration);
+        AsyncLogChannel.get().submit(delegate, Level.INFO, PERFORMANCE_TEMPLATE, new Object[]{operation, duration}, null);
     }
 
     /**
      * 异步业务日志
      */
-    @Async
     public void logBusinessAsync(String module, String action, String result) {
-        business(module, action, result);
+        AsyncLogChannel.get().submit(delegate, Level.INFO, BUSINESS_TEMPLATE, new Object[]{module, action, result}, null);
     }
 
     // === MDC工具方法 ===
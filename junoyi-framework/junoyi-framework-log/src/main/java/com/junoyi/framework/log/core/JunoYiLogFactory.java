@@ -2,6 +2,9 @@ package com.junoyi.framework.log.core;
 
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * JunoYi Logger工厂类
  * 提供与传统LoggerFactory相同的API，但返回JunoLog实例
@@ -14,19 +17,28 @@ import org.slf4j.LoggerFactory;
  * @author Fan
  */
 public class JunoYiLogFactory {
+
+    /**
+     * Logger 名称 -> 增强Logger实例，同一名称只创建一次
+     */
+    private static final Map<String, JunoYiLog> LOGGERS = new ConcurrentHashMap<>();
     
     /**
      * 获取指定类的增强Logger实例
      */
     public static JunoYiLog getLogger(Class<?> clazz) {
-        return new JunoYiLog(LoggerFactory.getLogger(clazz));
+        return getLogger(clazz.getName());
     }
     
     /**
      * 获取指定名称的增强Logger实例
      */
     public static JunoYiLog getLogger(String name) {
-        return new JunoYiLog(LoggerFactory.getLogger(name));
+        JunoYiLog logger = LOGGERS.get(name);
+        if (logger != null) {
+            return logger;
+        }
+        return LOGGERS.computeIfAbsent(name, key -> new JunoYiLog(LoggerFactory.getLogger(key)));
     }
     
     /**
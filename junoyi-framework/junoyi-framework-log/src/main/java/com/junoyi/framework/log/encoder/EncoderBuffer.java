@@ -0,0 +1,238 @@
+package com.junoyi.framework.log.encoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 编码器字节缓冲区
+ * 每个线程持有一个并在多次编码间复用，字符直接按 UTF-8 写入字节数组，
+ * 不经过 StringBuilder 和 String.getBytes，一次编码只在最后复制一次结果数组
+ *
+ * @author Fan
+ */
+final class EncoderBuffer {
+
+    /**
+     * 初始容量
+     */
+    private static final int INITIAL_CAPACITY = 512;
+
+    /**
+     * 编码超长日志后缓冲区超过该容量时缩回初始容量，避免线程长期持有大数组
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+    private int length;
+
+    /**
+     * 是否正在编码，处理器在编码期间再次记录日志（如参数的 toString 中打日志）时不能复用同一个缓冲区
+     */
+    private boolean inUse;
+
+    /**
+     * 占用当前线程的缓冲区
+     *
+     * @param local 线程本地缓冲区
+     * @return 可用的缓冲区，当前线程的缓冲区正在使用时返回一个临时缓冲区
+     */
+    static EncoderBuffer acquire(ThreadLocal<EncoderBuffer> local) {
+        EncoderBuffer buffer = local.get();
+        if (buffer.inUse)
+            return new EncoderBuffer();
+        buffer.inUse = true;
+        buffer.length = 0;
+        return buffer;
+    }
+
+    /**
+     * 复制出编码结果并释放缓冲区
+     *
+     * @return 编码结果
+     */
+    byte[] release() {
+        byte[] result = Arrays.copyOf(bytes, length);
+        length = 0;
+        if (bytes.length > MAX_RETAINED_CAPACITY)
+            bytes = new byte[INITIAL_CAPACITY];
+        inUse = false;
+        return result;
+    }
+
+    EncoderBuffer append(byte[] src) {
+        ensureCapacity(src.length);
+        System.arraycopy(src, 0, bytes, length, src.length);
+        length += src.length;
+        return this;
+    }
+
+    /**
+     * 写入 ASCII 字符
+     */
+    EncoderBuffer append(char c) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) c;
+        return this;
+    }
+
+    EncoderBuffer append(String s) {
+        if (s == null)
+            s = "null";
+        return append(s, 0, s.length());
+    }
+
+    /**
+     * 按 UTF-8 写入字符串的一段，孤立的代理字符写为 '?'，与 String.getBytes(UTF_8) 一致
+     */
+    EncoderBuffer append(String s, int start, int end) {
+        // 每个 UTF-16 字符最多编码为 3 个字节（代理对 2 个字符编码为 4 个字节）
+        ensureCapacity((end - start) * 3);
+        byte[] dst = bytes;
+        int pos = length;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                dst[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[pos++] = (byte) (0xC0 | (c >> 6));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(low = s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, low);
+                    dst[pos++] = (byte) (0xF0 | (cp >> 18));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | (cp & 0x3F));
+                    i++;
+                } else {
+                    dst[pos++] = '?';
+                }
+            } else {
+                dst[pos++] = (byte) (0xE0 | (c >> 12));
+                dst[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = pos;
+        return this;
+    }
+
+    EncoderBuffer append(long value) {
+        return append(Long.toString(value));
+    }
+
+    /**
+     * 按 JSON 字符串规则转义后写入（不含两侧引号）：引号、反斜杠和控制字符转义，
+     * 其余字符与 append 一样按 UTF-8 写入，转义和编码在同一次遍历中完成
+     */
+    EncoderBuffer appendJsonEscaped(String s) {
+        int end = s.length();
+        // 控制字符转义为六个字符的 Unicode 转义序列，每个字符最多 6 个字节
+        ensureCapacity(end * 6);
+        byte[] dst = bytes;
+        int pos = length;
+        for (int i = 0; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    dst[pos++] = (byte) c;
+                    continue;
+                }
+                dst[pos++] = '\\';
+                switch (c) {
+                    case '"':
+                        dst[pos++] = '"';
+                        break;
+                    case '\\':
+                        dst[pos++] = '\\';
+                        break;
+                    case '\n':
+                        dst[pos++] = 'n';
+                        break;
+                    case '\r':
+                        dst[pos++] = 'r';
+                        break;
+                    case '\t':
+                        dst[pos++] = 't';
+                        break;
+                    case '\b':
+                        dst[pos++] = 'b';
+                        break;
+                    case '\f':
+                        dst[pos++] = 'f';
+                        break;
+                    default:
+                        dst[pos++] = 'u';
+                        dst[pos++] = '0';
+                        dst[pos++] = '0';
+                        dst[pos++] = (byte) HEX_DIGITS[c >> 4];
+                        dst[pos++] = (byte) HEX_DIGITS[c & 0xF];
+                        break;
+                }
+            } else if (c < 0x800) {
+                dst[pos++] = (byte) (0xC0 | (c >> 6));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(low = s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, low);
+                    dst[pos++] = (byte) (0xF0 | (cp >> 18));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    dst[pos++] = (byte) (0x80 | (cp & 0x3F));
+                    i++;
+                } else {
+                    dst[pos++] = '?';
+                }
+            } else {
+                dst[pos++] = (byte) (0xE0 | (c >> 12));
+                dst[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                dst[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        length = pos;
+        return this;
+    }
+
+    /**
+     * 写入非负整数并在左侧补 0 到指定位数
+     */
+    EncoderBuffer appendPadded(int value, int digits) {
+        ensureCapacity(digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            bytes[length + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+        return this;
+    }
+
+    /**
+     * 写入 count 个空格
+     */
+    EncoderBuffer pad(int count) {
+        if (count <= 0)
+            return this;
+        ensureCapacity(count);
+        Arrays.fill(bytes, length, length + count, (byte) ' ');
+        length += count;
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = length + extra;
+        if (required > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+    }
+
+    /**
+     * 字符串转 UTF-8 字节，用于预先计算的常量片段
+     */
+    static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
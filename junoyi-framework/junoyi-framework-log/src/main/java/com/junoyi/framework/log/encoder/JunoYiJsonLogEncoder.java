@@ -0,0 +1,311 @@
+package com.junoyi.framework.log.encoder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 框架 JSON 行日志编码器
+ * 每条日志输出为一行紧凑的 JSON，供日志采集端直接解析，例如：
+ * {"@timestamp":"2025-01-01T12:00:00.123+08:00","level":"INFO","thread":"main","logger":"com.junoyi.Demo","message":"...","mdc":{"traceId":"..."}}
+ * 带异常时追加 exception 字段（类名、消息、最多 maxStackTraceLines 个堆栈帧及省略的帧数，cause 逐层嵌套）
+ * 与 JunoYiLogbackEncoder 一样直接写入线程复用的字节缓冲区：字段名片段预先编码，时间戳按秒缓存，
+ * Logger 名称连同前后字段名的转义结果有界缓存，字符串的转义和 UTF-8 编码一次遍历完成
+ *
+ * @author Fan
+ */
+public class JunoYiJsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    /**
+     * cause 最多嵌套层数
+     */
+    private static final int MAX_CAUSE_DEPTH = 5;
+
+    /**
+     * 缓存 logger 字段的 Logger 名称上限，超出后的名称每次重新转义
+     */
+    private static final int MAX_CACHED_LOGGER_NAMES = 4096;
+
+    private static final DateTimeFormatter SECOND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.");
+
+    private static final DateTimeFormatter OFFSET_FORMATTER = DateTimeFormatter.ofPattern("XXX");
+
+    private static final Level[] LEVELS = {Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+
+    /**
+     * 各级别的 level 字段，如 ,"level":"INFO"，与 LEVELS 一一对应
+     */
+    private static final byte[][] LEVEL_FIELDS = new byte[LEVELS.length][];
+
+    static {
+        for (int i = 0; i < LEVELS.length; i++)
+            LEVEL_FIELDS[i] = levelField(LEVELS[i]);
+    }
+
+    private static final byte[] TIMESTAMP_FIELD = EncoderBuffer.utf8("{\"@timestamp\":\"");
+    private static final byte[] THREAD_FIELD = EncoderBuffer.utf8(",\"thread\":\"");
+    private static final byte[] LOGGER_FIELD = EncoderBuffer.utf8("\",\"logger\":\"");
+    private static final byte[] MESSAGE_FIELD = EncoderBuffer.utf8("\",\"message\":\"");
+    private static final byte[] MDC_FIELD = EncoderBuffer.utf8(",\"mdc\":{");
+    private static final byte[] EXCEPTION_FIELD = EncoderBuffer.utf8(",\"exception\":");
+    private static final byte[] CLASS_FIELD = EncoderBuffer.utf8("{\"class\":\"");
+    private static final byte[] EXCEPTION_MESSAGE_FIELD = EncoderBuffer.utf8("\",\"message\":");
+    private static final byte[] FRAMES_FIELD = EncoderBuffer.utf8(",\"frames\":[");
+    private static final byte[] OMITTED_FRAMES_FIELD = EncoderBuffer.utf8(",\"omittedFrames\":");
+    private static final byte[] CAUSE_FIELD = EncoderBuffer.utf8(",\"cause\":");
+    private static final byte[] NULL = EncoderBuffer.utf8("null");
+    private static final byte[] NATIVE_METHOD = EncoderBuffer.utf8("(Native Method)");
+    private static final byte[] UNKNOWN_SOURCE = EncoderBuffer.utf8("(Unknown Source)");
+
+    private ZoneId zone = ZoneId.systemDefault();
+    private boolean includeMdc = true;
+    private int maxStackTraceLines = 32;
+
+    private volatile CachedSecond cachedSecond;
+
+    /**
+     * Logger 名称 -> 已转义的 ","logger":"名称","message":" 片段
+     */
+    private final Map<String, byte[]> loggerFields = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<EncoderBuffer> buffers = ThreadLocal.withInitial(EncoderBuffer::new);
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        // 先取出消息和 MDC：参数的 toString 可能再次记录日志，此时尚未占用缓冲区
+        String message = event.getFormattedMessage();
+        Map<String, String> mdc = includeMdc ? event.getMDCPropertyMap() : null;
+
+        EncoderBuffer buf = EncoderBuffer.acquire(buffers);
+
+        long timestamp = event.getTimeStamp();
+        CachedSecond second = second(timestamp);
+        buf.append(TIMESTAMP_FIELD)
+                .append(second.prefix)
+                .appendPadded((int) Math.floorMod(timestamp, 1000L), 3)
+                .append(second.offset)
+                .append('"');
+
+        Level level = event.getLevel();
+        int index = levelIndex(level);
+        buf.append(index >= 0 ? LEVEL_FIELDS[index] : levelField(level));
+
+        buf.append(THREAD_FIELD);
+        appendString(buf, event.getThreadName());
+        buf.append(loggerField(event.getLoggerName()));
+        appendString(buf, message);
+        buf.append('"');
+
+        if (mdc != null && !mdc.isEmpty()) {
+            buf.append(MDC_FIELD);
+            boolean first = true;
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!first)
+                    buf.append(',');
+                first = false;
+                buf.append('"');
+                appendString(buf, entry.getKey());
+                buf.append('"').append(':');
+                appendNullableString(buf, entry.getValue());
+            }
+            buf.append('}');
+        }
+
+        IThrowableProxy throwableProxy = event.getThrowableProxy();
+        if (throwableProxy != null) {
+            buf.append(EXCEPTION_FIELD);
+            appendThrowable(buf, throwableProxy, 0);
+        }
+
+        buf.append('}').append('\n');
+        return buf.release();
+    }
+
+    /**
+     * 写入异常对象：类名、消息、前 maxStackTraceLines 个堆栈帧、省略的帧数，以及最多 MAX_CAUSE_DEPTH 层 cause
+     */
+    private void appendThrowable(EncoderBuffer buf, IThrowableProxy throwableProxy, int depth) {
+        buf.append(CLASS_FIELD);
+        appendString(buf, throwableProxy.getClassName());
+        buf.append(EXCEPTION_MESSAGE_FIELD);
+        appendNullableString(buf, throwableProxy.getMessage());
+
+        StackTraceElementProxy[] frames = throwableProxy.getStackTraceElementProxyArray();
+        int limit = Math.min(frames.length, maxStackTraceLines);
+        buf.append(FRAMES_FIELD);
+        for (int i = 0; i < limit; i++) {
+            if (i > 0)
+                buf.append(',');
+            buf.append('"');
+            appendFrame(buf, frames[i].getStackTraceElement());
+            buf.append('"');
+        }
+        buf.append(']');
+        if (frames.length > limit)
+            buf.append(OMITTED_FRAMES_FIELD).append(frames.length - limit);
+
+        IThrowableProxy cause = throwableProxy.getCause();
+        if (cause != null && depth + 1 < MAX_CAUSE_DEPTH) {
+            buf.append(CAUSE_FIELD);
+            appendThrowable(buf, cause, depth + 1);
+        }
+        buf.append('}');
+    }
+
+    /**
+     * 写入堆栈帧，格式与 StackTraceElement.toString 的类名、方法和位置部分一致
+     */
+    private static void appendFrame(EncoderBuffer buf, StackTraceElement frame) {
+        appendString(buf, frame.getClassName());
+        buf.append('.');
+        appendString(buf, frame.getMethodName());
+        if (frame.isNativeMethod()) {
+            buf.append(NATIVE_METHOD);
+        } else if (frame.getFileName() == null) {
+            buf.append(UNKNOWN_SOURCE);
+        } else {
+            buf.append('(');
+            appendString(buf, frame.getFileName());
+            if (frame.getLineNumber() >= 0)
+                buf.append(':').append(frame.getLineNumber());
+            buf.append(')');
+        }
+    }
+
+    private static void appendString(EncoderBuffer buf, String value) {
+        if (value != null)
+            buf.appendJsonEscaped(value);
+    }
+
+    /**
+     * 写入带引号的字符串，null 写为 JSON null
+     */
+    private static void appendNullableString(EncoderBuffer buf, String value) {
+        if (value == null) {
+            buf.append(NULL);
+            return;
+        }
+        buf.append('"').appendJsonEscaped(value).append('"');
+    }
+
+    /**
+     * 获取 Logger 名称及前后字段名的片段，同一名称只转义一次
+     */
+    private byte[] loggerField(String loggerName) {
+        String key = loggerName == null ? "" : loggerName;
+        byte[] cached = loggerFields.get(key);
+        if (cached != null)
+            return cached;
+        EncoderBuffer field = new EncoderBuffer().append(LOGGER_FIELD);
+        field.appendJsonEscaped(key).append(MESSAGE_FIELD);
+        byte[] bytes = field.release();
+        if (loggerFields.size() < MAX_CACHED_LOGGER_NAMES)
+            loggerFields.put(key, bytes);
+        return bytes;
+    }
+
+    /**
+     * 获取时间戳所在秒的已格式化片段，同一秒内复用
+     */
+    private CachedSecond second(long timestamp) {
+        long epochSecond = Math.floorDiv(timestamp, 1000L);
+        CachedSecond cached = cachedSecond;
+        if (cached != null && cached.epochSecond == epochSecond)
+            return cached;
+        ZonedDateTime time = ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone);
+        cached = new CachedSecond(epochSecond,
+                EncoderBuffer.utf8(SECOND_FORMATTER.format(time)),
+                EncoderBuffer.utf8(OFFSET_FORMATTER.format(time)));
+        cachedSecond = cached;
+        return cached;
+    }
+
+    private static byte[] levelField(Level level) {
+        return EncoderBuffer.utf8(",\"level\":\"" + level + "\"");
+    }
+
+    private static int levelIndex(Level level) {
+        switch (level.toInt()) {
+            case Level.ERROR_INT:
+                return 0;
+            case Level.WARN_INT:
+                return 1;
+            case Level.INFO_INT:
+                return 2;
+            case Level.DEBUG_INT:
+                return 3;
+            case Level.TRACE_INT:
+                return 4;
+            default:
+                return -1;
+        }
+    }
+
+    // === Getter/Setter方法 ===
+
+    public boolean isIncludeMdc() {
+        return includeMdc;
+    }
+
+    public void setIncludeMdc(boolean includeMdc) {
+        this.includeMdc = includeMdc;
+    }
+
+    public int getMaxStackTraceLines() {
+        return maxStackTraceLines;
+    }
+
+    /**
+     * 设置每个异常最多输出的堆栈帧数，至少 1 帧
+     */
+    public void setMaxStackTraceLines(int maxStackTraceLines) {
+        this.maxStackTraceLines = Math.max(1, maxStackTraceLines);
+    }
+
+    /**
+     * 设置时间戳使用的时区，默认为系统时区
+     */
+    public void setTimeZone(String timeZone) {
+        if (timeZone != null && !timeZone.trim().isEmpty()) {
+            this.zone = ZoneId.of(timeZone.trim());
+            this.cachedSecond = null;
+        }
+    }
+
+    /**
+     * 已格式化的秒级时间片段：毫秒之前的部分和时区偏移
+     */
+    private static final class CachedSecond {
+
+        private final long epochSecond;
+
+        private final byte[] prefix;
+
+        private final byte[] offset;
+
+        private CachedSecond(long epochSecond, byte[] prefix, byte[] offset) {
+            this.epochSecond = epochSecond;
+            this.prefix = prefix;
+            this.offset = offset;
+        }
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+}
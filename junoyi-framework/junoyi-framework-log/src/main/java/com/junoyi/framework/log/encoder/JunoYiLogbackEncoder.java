@@ -1,21 +1,71 @@
 package com.junoyi.framework.log.encoder;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
 import ch.qos.logback.core.encoder.EncoderBase;
 import com.junoyi.framework.log.terminal.TerminalColor;
 
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 框架日志编码器
  * 提供美观的彩色日志输出格式，支持MDC上下文和线程信息
+ * 编码时直接写入线程复用的字节缓冲区：时间戳前缀按秒（格式含毫秒时按毫秒）缓存复用，
+ * 日志级别片段预先计算，Logger 名称的缩写结果有界缓存，常规日志除结果数组外不产生临时对象
  *
  * @author Fan
  */
 public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
 
+    /**
+     * Logger 名称显示宽度
+     */
+    private static final int LOGGER_NAME_WIDTH = 30;
+
+    /**
+     * 缓存缩写结果的 Logger 名称上限，超出后的名称每次重新计算
+     */
+    private static final int MAX_CACHED_LOGGER_NAMES = 4096;
+
+    private static final Level[] LEVELS = {Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE};
+
+    /**
+     * 各级别的级别片段，如 "[INFO] "，与 LEVELS 一一对应
+     */
+    private static final byte[][] LEVEL_TOKENS = new byte[LEVELS.length][];
+
+    private static final byte[][] LEVEL_COLORS = new byte[LEVELS.length][];
+
+    private static final byte[][] MESSAGE_COLORS = new byte[LEVELS.length][];
+
+    static {
+        for (int i = 0; i < LEVELS.length; i++) {
+            LEVEL_TOKENS[i] = EncoderBuffer.utf8(levelToken(LEVELS[i]));
+            LEVEL_COLORS[i] = EncoderBuffer.utf8(getLevelColor(LEVELS[i]));
+            MESSAGE_COLORS[i] = EncoderBuffer.utf8(getMessageColor(LEVELS[i]));
+        }
+    }
+
+    private static final byte[] RESET = EncoderBuffer.utf8(TerminalColor.RESET);
+    private static final byte[] GREEN = EncoderBuffer.utf8(TerminalColor.GREEN);
+    private static final byte[] PURPLE = EncoderBuffer.utf8(TerminalColor.PURPLE);
+    private static final byte[] CYAN = EncoderBuffer.utf8(TerminalColor.CYAN);
+    private static final byte[] RED = EncoderBuffer.utf8(TerminalColor.RED);
+    private static final byte[] YELLOW = EncoderBuffer.utf8(TerminalColor.YELLOW);
+    private static final byte[] MDC_OPEN = EncoderBuffer.utf8("[MDC: [");
+    private static final byte[] MDC_CLOSE = EncoderBuffer.utf8("]] ");
+    private static final byte[] MESSAGE_PREFIX = EncoderBuffer.utf8("\n  - ");
+    private static final byte[] STACK_TRACE_HEADER = EncoderBuffer.utf8("┌─ 异常堆栈跟踪 " + "─".repeat(60) + "\n│ ");
+    private static final byte[] STACK_TRACE_LINE = EncoderBuffer.utf8("│ ");
+    private static final byte[] STACK_TRACE_AT = EncoderBuffer.utf8("   at ");
+    private static final byte[] STACK_TRACE_MORE = EncoderBuffer.utf8("   ... ");
+    private static final byte[] STACK_TRACE_FOOTER = EncoderBuffer.utf8("└─" + "─".repeat(75));
+
     private DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private boolean showThreadName = true;
     private boolean showMDC = true;
@@ -28,55 +78,95 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
     private java.util.Map<String, String> packageSimplifications = new java.util.LinkedHashMap<>();
     private int maxThreadNameLength = 15;
 
+    /**
+     * 时间戳缓存粒度（毫秒），日期格式不含秒以下字段时为 1000
+     */
+    private long timestampGranularity = 1000;
+
+    private volatile CachedTimestamp cachedTimestamp;
+
+    /**
+     * Logger 名称 -> 缩写并补齐宽度后的字节
+     */
+    private final Map<String, byte[]> loggerNames = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<EncoderBuffer> buffers = ThreadLocal.withInitial(EncoderBuffer::new);
+
     @Override
     public byte[] encode(ILoggingEvent event) {
-        StringBuilder sb = new StringBuilder(256);
-        
-        // 颜色配置
-        String reset = colorEnabled ? TerminalColor.RESET : "";
-        String redColor = colorEnabled ? TerminalColor.RED : "";
-        String greenColor = colorEnabled ? TerminalColor.GREEN : "";
-        String purpleColor = colorEnabled ? TerminalColor.PURPLE : "";
-        String cyanColor = colorEnabled ? TerminalColor.CYAN : "";
-        
+        // 先取出消息和 MDC：参数的 toString 可能再次记录日志，此时尚未占用缓冲区
+        String message = event.getFormattedMessage();
+        Map<String, String> mdc = showMDC ? event.getMDCPropertyMap() : null;
+
+        EncoderBuffer buf = EncoderBuffer.acquire(buffers);
+
         // 时间戳（红色，更精确的格式）
-        sb.append(redColor)
-                .append("[")
-                .append(formatTimestamp(event.getTimeStamp()))
-                .append("] ")
-                .append(reset);
+        buf.append(timestampPrefix(event.getTimeStamp()));
 
-        // 线程名（绿色，带括号，固定12字符宽度）
+        // 线程名（绿色，带括号，固定宽度）
         if (showThreadName) {
-            String threadName = formatThread(event.getThreadName());
-            sb.append(greenColor)
-                    .append("(")
-                    .append(String.format("%-" + Math.max(1, maxThreadNameLength) + "s", threadName))
-                    .append(") ")
-                    .append(reset);
+            if (colorEnabled)
+                buf.append(GREEN);
+            buf.append('(');
+            appendThread(buf, event.getThreadName());
+            buf.append(')').append(' ');
+            if (colorEnabled)
+                buf.append(RESET);
         }
 
         // Logger名称（青色，智能缩进，固定30字符宽度）
-        String loggerName = event.getLoggerName();
         if (showClassName) {
-            String formattedLogger = formatLoggerNameAdvanced(loggerName);
-            sb.append(cyanColor)
-                    .append(String.format("%-30s", formattedLogger))
-                    .append(reset)
-                    .append(" ");
+            if (colorEnabled)
+                buf.append(CYAN);
+            buf.append(loggerNameBytes(event.getLoggerName()));
+            if (colorEnabled)
+                buf.append(RESET);
+            buf.append(' ');
         }
 
         // MDC上下文（紫色，如果有）
-        if (showMDC && !event.getMDCPropertyMap().isEmpty()) {
-            sb.append(purpleColor)
-                    .append("[MDC: ")
-                    .append(formatMDC(event.getMDCPropertyMap()))
-                    .append("] ")
-                    .append(reset);
+        if (mdc != null && !mdc.isEmpty()) {
+            if (colorEnabled)
+                buf.append(PURPLE);
+            buf.append(MDC_OPEN);
+            appendMDC(buf, mdc);
+            buf.append(MDC_CLOSE);
+            if (colorEnabled)
+                buf.append(RESET);
         }
 
         // 日志级别（彩色背景，固定7字符宽度，文字居中）
-        String levelText = event.getLevel().toString();
+        Level level = event.getLevel();
+        int index = levelIndex(level);
+        if (colorEnabled)
+            buf.append(index >= 0 ? LEVEL_COLORS[index] : EncoderBuffer.utf8(getLevelColor(level)));
+        buf.append(index >= 0 ? LEVEL_TOKENS[index] : EncoderBuffer.utf8(levelToken(level)));
+        if (colorEnabled)
+            buf.append(RESET);
+
+        // 日志消息（根据级别着色，另起一行）
+        buf.append(MESSAGE_PREFIX);
+        if (colorEnabled)
+            buf.append(index >= 0 ? MESSAGE_COLORS[index] : EncoderBuffer.utf8(getMessageColor(level)));
+        buf.append(message);
+        if (colorEnabled)
+            buf.append(RESET);
+
+        // 异常信息（红色，带缩进）
+        if (event.getThrowableProxy() != null) {
+            buf.append('\n');
+            appendThrowable(buf, event.getThrowableProxy());
+        }
+
+        buf.append('\n');
+        return buf.release();
+    }
+
+    /**
+     * 级别片段：级别文字加方括号，左侧补齐到 7 个字符
+     */
+    private static String levelToken(Level level) {
+        String levelText = level.toString();
         String levelStr;
         switch (levelText.length()) {
             case 4: // INFO
@@ -92,46 +182,40 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
                 levelStr = "[" + levelText + "]";
                 break;
         }
-        
-        String levelColor = getLevelColor(event.getLevel());
-        sb.append(colorEnabled ? levelColor : "")
-                .append(String.format("%7s", levelStr))
-                .append(reset);
-
-        // 日志消息（根据级别着色，另起一行）
-        sb.append("\n  - ");
-        String messageColor = getMessageColor(event.getLevel());
-        sb.append(colorEnabled ? messageColor : "")
-                .append(event.getFormattedMessage())
-                .append(reset);
+        return String.format("%7s", levelStr);
+    }
 
-        // 异常信息（红色，带缩进）
-        if (event.getThrowableProxy() != null) {
-            sb.append("\n").append(formatThrowableAdvanced(event.getThrowableProxy()));
+    private static int levelIndex(Level level) {
+        switch (level.toInt()) {
+            case Level.ERROR_INT:
+                return 0;
+            case Level.WARN_INT:
+                return 1;
+            case Level.INFO_INT:
+                return 2;
+            case Level.DEBUG_INT:
+                return 3;
+            case Level.TRACE_INT:
+                return 4;
+            default:
+                return -1;
         }
-
-        sb.append("\n");
-        return sb.toString().getBytes(StandardCharsets.UTF_8);
     }
 
     /**
      * 根据日志级别获取颜色
      */
-    private String getLevelColor(ch.qos.logback.classic.Level level) {
-        if (!colorEnabled) {
-            return "";
-        }
-        
+    private static String getLevelColor(Level level) {
         switch (level.toInt()) {
-            case ch.qos.logback.classic.Level.ERROR_INT:
+            case Level.ERROR_INT:
                 return TerminalColor.BOLD_WHITE_ON_RED;
-            case ch.qos.logback.classic.Level.WARN_INT:
+            case Level.WARN_INT:
                 return TerminalColor.BOLD_BLACK_ON_YELLOW;
-            case ch.qos.logback.classic.Level.INFO_INT:
+            case Level.INFO_INT:
                 return TerminalColor.BOLD_BLACK_ON_GREEN;
-            case ch.qos.logback.classic.Level.DEBUG_INT:
+            case Level.DEBUG_INT:
                 return TerminalColor.BOLD_WHITE_ON_BLUE;
-            case ch.qos.logback.classic.Level.TRACE_INT:
+            case Level.TRACE_INT:
                 return TerminalColor.BOLD_WHITE_ON_PURPLE;
             default:
                 return TerminalColor.GREEN;
@@ -141,27 +225,38 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
     /**
      * 根据日志级别获取消息颜色
      */
-    private String getMessageColor(ch.qos.logback.classic.Level level) {
-        if (!colorEnabled) {
-            return "";
-        }
-        
+    private static String getMessageColor(Level level) {
         switch (level.toInt()) {
-            case ch.qos.logback.classic.Level.ERROR_INT:
+            case Level.ERROR_INT:
                 return TerminalColor.BOLD_RED;
-            case ch.qos.logback.classic.Level.WARN_INT:
+            case Level.WARN_INT:
                 return TerminalColor.BOLD_YELLOW;
-            case ch.qos.logback.classic.Level.INFO_INT:
+            case Level.INFO_INT:
                 return ""; // INFO级别使用默认样式，不重置颜色
-            case ch.qos.logback.classic.Level.DEBUG_INT:
+            case Level.DEBUG_INT:
                 return TerminalColor.BOLD_BLUE;
-            case ch.qos.logback.classic.Level.TRACE_INT:
+            case Level.TRACE_INT:
                 return TerminalColor.BOLD_PURPLE;
             default:
                 return TerminalColor.WHITE;
         }
     }
 
+    /**
+     * 获取缩写并补齐宽度后的 Logger 名称，同一名称只计算一次
+     */
+    private byte[] loggerNameBytes(String loggerName) {
+        String key = loggerName == null ? "" : loggerName;
+        byte[] cached = loggerNames.get(key);
+        if (cached != null)
+            return cached;
+        String formatted = String.format("%-" + LOGGER_NAME_WIDTH + "s", formatLoggerNameAdvanced(loggerName));
+        byte[] bytes = EncoderBuffer.utf8(formatted);
+        if (loggerNames.size() < MAX_CACHED_LOGGER_NAMES)
+            loggerNames.put(key, bytes);
+        return bytes;
+    }
+
     /**
      * 高级Logger名称格式化
      */
@@ -196,56 +291,70 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
     /**
      * 高级异常信息格式化
      */
-    private String formatThrowableAdvanced(ch.qos.logback.classic.spi.IThrowableProxy throwableProxy) {
-        if (throwableProxy == null) {
-            return "";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        String redColor = colorEnabled ? TerminalColor.RED : "";
-        String yellowColor = colorEnabled ? TerminalColor.YELLOW : "";
-        String reset = colorEnabled ? TerminalColor.RESET : "";
-        
-        sb.append(redColor)
-                .append("┌─ 异常堆栈跟踪 ")
-                .append("─".repeat(60))
-                .append("\n")
-                .append("│ ")
-                .append(yellowColor)
-                .append(throwableProxy.getClassName())
-                .append(": ")
-                .append(throwableProxy.getMessage())
-                .append(reset)
-                .append("\n");
-        
-        ch.qos.logback.classic.spi.StackTraceElementProxy[] steArray = throwableProxy.getStackTraceElementProxyArray();
+    private void appendThrowable(EncoderBuffer buf, IThrowableProxy throwableProxy) {
+        if (colorEnabled)
+            buf.append(RED);
+        buf.append(STACK_TRACE_HEADER);
+        if (colorEnabled)
+            buf.append(YELLOW);
+        buf.append(throwableProxy.getClassName())
+                .append(':').append(' ')
+                .append(throwableProxy.getMessage());
+        if (colorEnabled)
+            buf.append(RESET);
+        buf.append('\n');
+
+        StackTraceElementProxy[] steArray = throwableProxy.getStackTraceElementProxyArray();
         int limit = maxStackTraceLines <= 0 ? steArray.length : Math.min(steArray.length, maxStackTraceLines);
         for (int i = 0; i < limit; i++) {
-            sb.append(redColor).append("│ ").append(reset)
-                    .append("   at ")
-                    .append(colorEnabled ? TerminalColor.CYAN : "")
-                    .append(steArray[i].getSTEAsString())
-                    .append(reset)
-                    .append("\n");
+            if (colorEnabled)
+                buf.append(RED);
+            buf.append(STACK_TRACE_LINE);
+            if (colorEnabled)
+                buf.append(RESET);
+            buf.append(STACK_TRACE_AT);
+            if (colorEnabled)
+                buf.append(CYAN);
+            buf.append(steArray[i].getSTEAsString());
+            if (colorEnabled)
+                buf.append(RESET);
+            buf.append('\n');
         }
-        
+
         if (maxStackTraceLines > 0 && steArray.length > maxStackTraceLines) {
-            sb.append(redColor)
-                    .append("│ ")
-                    .append(yellowColor)
-                    .append("   ... ")
+            if (colorEnabled)
+                buf.append(RED);
+            buf.append(STACK_TRACE_LINE);
+            if (colorEnabled)
+                buf.append(YELLOW);
+            buf.append(STACK_TRACE_MORE)
                     .append(steArray.length - maxStackTraceLines)
-                    .append(" more")
-                    .append(reset)
-                    .append("\n");
+                    .append(" more");
+            if (colorEnabled)
+                buf.append(RESET);
+            buf.append('\n');
         }
-        
-        sb.append(redColor)
-                .append("└─")
-                .append("─".repeat(75))
-                .append(reset);
-        
-        return sb.toString();
+
+        if (colorEnabled)
+            buf.append(RED);
+        buf.append(STACK_TRACE_FOOTER);
+        if (colorEnabled)
+            buf.append(RESET);
+    }
+
+    /**
+     * 获取时间戳前缀，同一秒（日期格式含毫秒时为同一毫秒）内复用已格式化的结果
+     */
+    private byte[] timestampPrefix(long timestamp) {
+        long key = Math.floorDiv(timestamp, timestampGranularity);
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached != null && cached.key == key)
+            return cached.bytes;
+        String reset = colorEnabled ? TerminalColor.RESET : "";
+        String redColor = colorEnabled ? TerminalColor.RED : "";
+        byte[] bytes = EncoderBuffer.utf8(redColor + "[" + formatTimestamp(timestamp) + "] " + reset);
+        cachedTimestamp = new CachedTimestamp(key, bytes);
+        return bytes;
     }
 
     /**
@@ -259,45 +368,44 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
     }
 
     /**
-     * 格式化线程名
+     * 写入线程名并右侧补齐到固定宽度，常见线程名简化，过长时保留末尾部分
      */
-    private String formatThread(String threadName) {
+    private void appendThread(EncoderBuffer buf, String threadName) {
+        int width = Math.max(1, maxThreadNameLength);
+        int written;
         if (threadName == null) {
-            return "unknown";
-        }
-        // 简化常见线程名
-        switch (threadName) {
-            case "main": return "main";
-            case "restartedMain": return "main";
-            default:
-                int width = Math.max(4, maxThreadNameLength);
-                if (threadName.length() > width) {
-                    int tail = Math.max(1, width - 3);
-                    return "..." + threadName.substring(threadName.length() - tail);
-                }
-                return threadName;
+            buf.append("unknown");
+            written = 7;
+        } else if ("main".equals(threadName) || "restartedMain".equals(threadName)) {
+            buf.append("main");
+            written = 4;
+        } else {
+            int max = Math.max(4, maxThreadNameLength);
+            if (threadName.length() > max) {
+                int tail = Math.max(1, max - 3);
+                buf.append("...").append(threadName, threadName.length() - tail, threadName.length());
+                written = 3 + tail;
+            } else {
+                buf.append(threadName);
+                written = threadName.length();
+            }
         }
+        buf.pad(width - written);
     }
 
     /**
-     * 格式化MDC上下文
+     * 写入MDC上下文，最多 maxMdcProperties 项
      */
-    private String formatMDC(java.util.Map<String, String> mdcMap) {
-        if (mdcMap == null || mdcMap.isEmpty()) {
-            return "";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        mdcMap.entrySet().stream()
-                .limit(Math.max(0, maxMdcProperties))
-                .forEach(entry -> sb.append(entry.getKey()).append("=").append(entry.getValue()).append(","));
-        
-        if (sb.length() > 1) {
-            sb.setLength(sb.length() - 1); // 移除最后的逗号
+    private void appendMDC(EncoderBuffer buf, Map<String, String> mdcMap) {
+        int limit = Math.max(0, maxMdcProperties);
+        int count = 0;
+        for (Map.Entry<String, String> entry : mdcMap.entrySet()) {
+            if (count == limit)
+                break;
+            if (count++ > 0)
+                buf.append(',');
+            buf.append(entry.getKey()).append('=').append(entry.getValue());
         }
-        sb.append("]");
-        return sb.toString();
     }
 
     // === Getter/Setter方法 ===
@@ -340,11 +448,14 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
 
     public void setColorEnabled(boolean colorEnabled) {
         this.colorEnabled = colorEnabled;
+        this.cachedTimestamp = null;
     }
 
     public void setDateTimePattern(String pattern) {
         if (pattern != null && !pattern.isEmpty()) {
             this.dateFormatter = DateTimeFormatter.ofPattern(pattern);
+            this.timestampGranularity = hasSubSecondField(pattern) ? 1 : 1000;
+            this.cachedTimestamp = null;
         }
     }
 
@@ -358,6 +469,7 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
 
     public void setSimplifyPackageNames(boolean simplifyPackageNames) {
         this.simplifyPackageNames = simplifyPackageNames;
+        loggerNames.clear();
     }
 
     public void setPackageSimplifications(String mapping) {
@@ -371,12 +483,28 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
                 packageSimplifications.put(kv[0].trim(), kv[1].trim());
             }
         }
+        loggerNames.clear();
     }
 
     public void setMaxThreadNameLength(int maxThreadNameLength) {
         this.maxThreadNameLength = maxThreadNameLength;
     }
 
+    /**
+     * 日期格式是否含秒以下的字段（S 毫秒、n/N 纳秒、A 当天毫秒），引号内的文字除外
+     */
+    private static boolean hasSubSecondField(String pattern) {
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'')
+                quoted = !quoted;
+            else if (!quoted && (c == 'S' || c == 'n' || c == 'N' || c == 'A'))
+                return true;
+        }
+        return false;
+    }
+
     private String applyPackageSimplifications(String loggerName) {
         if (loggerName == null) {
             return "";
@@ -395,6 +523,22 @@ public class JunoYiLogbackEncoder extends EncoderBase<ILoggingEvent> {
         }
         return result;
     }
+
+    /**
+     * 已格式化的时间戳前缀
+     */
+    private static final class CachedTimestamp {
+
+        private final long key;
+
+        private final byte[] bytes;
+
+        private CachedTimestamp(long key, byte[] bytes) {
+            this.key = key;
+            this.bytes = bytes;
+        }
+    }
+
     @Override
     public byte[] headerBytes() { 
         return null; 
@@ -1,8 +1,10 @@
 package com.junoyi.framework.log.util;
 
+import com.junoyi.framework.log.core.AsyncLogChannel;
 import com.junoyi.framework.log.core.JunoYiLogger;
+import org.slf4j.Logger;
 import org.slf4j.MDC;
-import org.springframework.scheduling.annotation.Async;
+import org.slf4j.event.Level;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
@@ -20,55 +22,18 @@ import java.util.function.Supplier;
 public class JunoYiLogUtils {
 
     /**
-     * 异步记录日志
+     * 异步记录日志，经 AsyncLogChannel 交给后台线程输出
      */
-    @Async
     public void logAsync(String level, String message, Object... args) {
-        switch (level.toUpperCase()) {
-            case "INFO":
-                JunoYiLogger.info(message, args);
-                break;
-            case "WARN":
-                JunoYiLogger.warn(message, args);
-                break;
-            case "ERROR":
-                JunoYiLogger.error(message, args);
-                break;
-            case "DEBUG":
-                JunoYiLogger.debug(message, args);
-                break;
-            case "TRACE":
-                JunoYiLogger.trace(message, args);
-                break;
-            default:
-                JunoYiLogger.info(message, args);
-        }
+        AsyncLogChannel.get().submit(JunoYiLogger.getLogger(), AsyncLogChannel.toLevel(level, Level.INFO), message, args, null);
     }
 
     /**
-     * 异步记录带异常的日志
+     * 异步记录带异常的日志（仅 ERROR 级别附带异常堆栈）
      */
-    @Async
     public void logAsync(String level, String message, Throwable throwable) {
-        switch (level.toUpperCase()) {
-            case "INFO":
-                JunoYiLogger.info(message);
-                break;
-            case "WARN":
-                JunoYiLogger.warn(message);
-                break;
-            case "ERROR":
-                JunoYiLogger.error(message, throwable);
-                break;
-            case "DEBUG":
-                JunoYiLogger.debug(message);
-                break;
-            case "TRACE":
-                JunoYiLogger.trace(message);
-                break;
-            default:
-                JunoYiLogger.error(message, throwable);
-        }
+        Level logLevel = AsyncLogChannel.toLevel(level, Level.ERROR);
+        AsyncLogChannel.get().submit(JunoYiLogger.getLogger(), logLevel, message, null, logLevel == Level.ERROR ? throwable : null);
     }
 
     /**
@@ -178,11 +143,12 @@ public class JunoYiLogUtils {
     }
 
     /**
-     * 性能监控日志（异步）
+     * 性能监控日志（异步），耗时在调用时计算，返回时日志已提交到后台通道
      */
-    @Async
     public CompletableFuture<Void> logPerformanceAsync(String operation, long startTime) {
-        logPerformance(operation, startTime);
+        long duration = System.currentTimeMillis() - startTime;
+        AsyncLogChannel.get().submit(JunoYiLogger.getLogger(), Level.INFO,
+                "   性能监控 - 操作: [{}], 耗时: [{}]ms", new Object[]{operation, duration}, null);
         return CompletableFuture.completedFuture(null);
     }
 
@@ -259,6 +225,48 @@ public class JunoYiLogUtils {
         }
     }
 
+    /**
+     * 延迟日志记录 - 级别未启用时不执行 Supplier，不拼接消息
+     */
+    public static void log(String level, Supplier<String> msgSupplier) {
+        Logger logger = JunoYiLogger.getLogger();
+        switch (level.toUpperCase()) {
+            case "WARN":
+                if (logger.isWarnEnabled()) {
+                    logger.warn(msgSupplier.get());
+                }
+                break;
+            case "ERROR":
+                if (logger.isErrorEnabled()) {
+                    logger.error(msgSupplier.get());
+                }
+                break;
+            case "DEBUG":
+                if (logger.isDebugEnabled()) {
+                    logger.debug(msgSupplier.get());
+                }
+                break;
+            case "TRACE":
+                if (logger.isTraceEnabled()) {
+                    logger.trace(msgSupplier.get());
+                }
+                break;
+            default:
+                if (logger.isInfoEnabled()) {
+                    logger.info(msgSupplier.get());
+                }
+        }
+    }
+
+    /**
+     * 条件延迟日志记录 - 条件满足且级别启用时才生成消息
+     */
+    public static void logIf(boolean condition, String level, Supplier<String> msgSupplier) {
+        if (condition) {
+            log(level, msgSupplier);
+        }
+    }
+
     /**
      * 记录系统信息
      */
@@ -0,0 +1,111 @@
+package com.junoyi.framework.log.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 有界无锁环形队列
+ * 多生产者、多消费者，每个槽位带序号：生产者和消费者各自用 CAS 抢占位置，
+ * 写入或取出槽位后推进槽位序号，不使用锁；队列满时 offer 立即返回 false，由调用方决定丢弃还是等待
+ *
+ * @author Fan
+ */
+public final class LogRingBuffer<E> {
+
+    private final Object[] elements;
+
+    /**
+     * 槽位序号：等于入队位置时可写入，等于入队位置 + 1 时可取出
+     */
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param capacity 容量（向上取整为 2 的幂）
+     */
+    public LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * 入队
+     *
+     * @param element 元素
+     * @return 队列已满时返回 false
+     */
+    public boolean offer(E element) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1))
+                    break;
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+        elements[index] = element;
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    /**
+     * 出队
+     *
+     * @return 队首元素，队列为空时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long pos = head.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1))
+                    break;
+                pos = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                pos = head.get();
+            }
+        }
+        E element = (E) elements[index];
+        elements[index] = null;
+        sequences.set(index, pos + mask + 1);
+        return element;
+    }
+
+    /**
+     * 当前元素数（并发下为近似值）
+     */
+    public int size() {
+        long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * 队列容量
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+}
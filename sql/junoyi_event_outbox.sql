@@ -0,0 +1,25 @@
+/*
+ 事件发件箱表（建在日志库，即 DataSourceType.LOG 对应的数据源）
+ 开启 junoyi.event.outbox.enabled 前执行
+
+ Target Server Type    : MySQL
+ Target Server Version : 80000 (8.0，中继依赖 SELECT ... FOR UPDATE SKIP LOCKED)
+*/
+
+SET NAMES utf8mb4;
+
+-- ----------------------------
+-- Table structure for sys_event_outbox
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_event_outbox`;
+CREATE TABLE `sys_event_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '发件箱ID（写入顺序）',
+  `event_type` varchar(255) NOT NULL COMMENT '事件类名',
+  `payload` mediumtext NOT NULL COMMENT '事件内容（JSON）',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '失败的投递次数',
+  `next_attempt_time` bigint NOT NULL DEFAULT 0 COMMENT '下次投递时间（毫秒时间戳）',
+  `dead` tinyint NOT NULL DEFAULT 0 COMMENT '是否为死信（0=待投递 1=达到最大投递次数或无法解码，不再投递）',
+  `create_time` datetime(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3) COMMENT '写入时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_dead_id` (`dead`, `id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci COMMENT='事件发件箱';